@@ -0,0 +1,54 @@
+package ClockBenchmarks;
+
+import ClockCommon.Trigonometry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of end point of arrow by {@link Trigonometry} table against {@link Math} functions.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AngleBenchmark {
+
+    /** Angle engine of default resolution. */
+    private final Trigonometry trigonometry = new Trigonometry(Trigonometry.DEFAULT_RESOLUTION);
+
+    /** Seconds with fraction, arrow angle is taken of it. */
+    private double seconds;
+
+    /**
+     * End point of arrow by table.
+     * @return  Sum of coordinates
+     */
+    @Benchmark
+    public double table() {
+        seconds = (seconds + 0.01) % 60;
+        double arg = Trigonometry.getArgument(seconds, 6.0);
+        return trigonometry.cos(arg) * 100 + trigonometry.sin(arg) * 100;
+    }
+
+    /**
+     * End point of arrow by {@link Math}, as painted before angle engine.
+     * @return  Sum of coordinates
+     */
+    @Benchmark
+    public double math() {
+        seconds = (seconds + 0.01) % 60;
+        double arg = Trigonometry.getArgument(seconds, 6.0);
+        return Math.cos(arg) * 100 + Math.sin(arg) * 100;
+    }
+}
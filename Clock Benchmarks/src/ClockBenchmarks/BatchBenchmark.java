@@ -0,0 +1,106 @@
+package ClockBenchmarks;
+
+import MyClock.BatchRenderer;
+import MyClock.ClockRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of {@link BatchRenderer} batches of 240 frames, one per second,
+ * into sprite sheet and into memory mapped raw file, and of the same frames
+ * exported by {@link ClockRenderer} into unbuffered file stream.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class BatchBenchmark {
+
+    /** Count of frames of batch. */
+    private static final int FRAMES = 240;
+
+    /** Size of square frame in pixels. */
+    @Param({"100", "400"})
+    private int size;
+
+    /** Batch renderer. */
+    private BatchRenderer renderer;
+
+    /** Renderer of exported frames. */
+    private ClockRenderer exporter;
+
+    /** Raw frames file. */
+    private File file;
+
+    /**
+     * Create renderer and raw frames file.
+     * @throws IOException  If file can't be created
+     */
+    @Setup
+    public void setUp() throws IOException {
+        renderer = new BatchRenderer(size, size);
+        renderer.setScreenSize(new Dimension(1920, 1080));
+        exporter = new ClockRenderer();
+        exporter.setScreenSize(new Dimension(1920, 1080));
+        file = File.createTempFile("clock-batch", ".raw");
+    }
+
+    /**
+     * Delete raw frames file.
+     */
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+
+    /**
+     * Render batch into sprite sheet of 16 columns.
+     * @return  Sprite sheet
+     */
+    @Benchmark
+    public BufferedImage spriteSheet() {
+        return renderer.renderSpriteSheet(0, 1000, FRAMES, 16);
+    }
+
+    /**
+     * Render batch into raw frames file.
+     * @throws IOException  If file can't be written
+     */
+    @Benchmark
+    public void rawFile() throws IOException {
+        renderer.renderRawFile(file, 0, 1000, FRAMES);
+    }
+
+    /**
+     * Export frames one by one into unbuffered file stream.
+     * @throws IOException  If file can't be written
+     */
+    @Benchmark
+    public void rawStream() throws IOException {
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            exporter.exportRawFrames(out, size, size, 0, 1000, FRAMES);
+        } finally {
+            out.close();
+        }
+    }
+}
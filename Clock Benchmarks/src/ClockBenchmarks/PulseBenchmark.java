@@ -0,0 +1,217 @@
+package ClockBenchmarks;
+
+import ClockCommon.ClockStartup;
+import ClockFx.Clock;
+import ClockFx.FontService;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.scene.image.WritableImage;
+import javafx.scene.text.Text;
+import javafx.stage.Stage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of one pulse of ClockFx stage by backend and count of clocks: {@link Clock.Pulse#handle(long)}
+ * of every clock, then rendering of scene by snapshot, as pulse renders it after timers.
+ * Pulse is run on application thread, so time includes passing it there.
+ * JavaFX runs on Monocle headless with software pipeline, so no display is needed,
+ * but JavaFX needs Pango library to lay out text on Linux.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Dglass.platform=Monocle", "-Dmonocle.platform=Headless", "-Dprism.order=sw"})
+public class PulseBenchmark {
+
+    /** Nominal period of pulses in nanoseconds. */
+    private static final long PULSE_PERIOD = 1000000000L / 60;
+
+    /** Size of square stage in pixels. */
+    private static final int STAGE_SIZE = 800;
+
+    /** Minimum of screen dimension the clocks are sized for. */
+    private static final double SCREEN_SIZE = 1080;
+
+    /** Count of clocks per stage. */
+    @Param({"1", "10", "100"})
+    private int clocks;
+
+    /** Backend: nodes or canvas. */
+    @Param({"nodes", "canvas"})
+    private String backend;
+
+    /** Timers of clocks, they aren't started, pulses are driven by benchmark. */
+    private Clock.Pulse[] pulses;
+
+    /** Stage of clocks. */
+    private Stage stage;
+
+    /** Image the scene is rendered into. */
+    private WritableImage frame;
+
+    /** Time of pulse in nanoseconds. */
+    private long now;
+
+    /** One pulse of stage. */
+    private final Runnable pulse = new Runnable() {
+        public void run() {
+            now += PULSE_PERIOD;
+            for (Clock.Pulse clock : pulses) {
+                clock.handle(now);
+            }
+            frame = stage.getScene().snapshot(frame);
+        }
+    };
+
+    /**
+     * Start toolkit, load font and time zone data and show stage with clocks in grid.
+     * @throws InterruptedException  If setup is interrupted
+     */
+    @Setup
+    public void setUp() throws InterruptedException {
+        Toolkit.start();
+        ClockStartup.preload(FontService.LOADER);
+        while (! ClockStartup.isReady()) {
+            Thread.sleep(10);
+        }
+
+        runAndWait(new Runnable() {
+            public void run() {
+                // Text is laid out by native library, which headless hosts may lack
+                new Text("12").getLayoutBounds();
+
+                Clock application = new Clock();
+                int columns = (int)Math.ceil(Math.sqrt(clocks));
+                double tile = (double)STAGE_SIZE / columns;
+                SimpleDoubleProperty size = new SimpleDoubleProperty(tile);
+
+                Group group = new Group();
+                pulses = new Clock.Pulse[clocks];
+                for (int i = 0; i < clocks; i++) {
+                    Group cell = new Group();
+                    cell.setLayoutX(i % columns * tile);
+                    cell.setLayoutY(i / columns * tile);
+                    pulses[i] = backend.equals("canvas") ? application.createCanvas(cell, size, size, SCREEN_SIZE)
+                            : application.createNodes(cell, size, size, SCREEN_SIZE);
+                    group.getChildren().add(cell);
+                }
+
+                stage = new Stage();
+                stage.setScene(new Scene(group, STAGE_SIZE, STAGE_SIZE));
+                stage.show();
+            }
+        });
+
+        // First pulse shows details of clocks, lays out numbers and takes face snapshots
+        runAndWait(pulse);
+    }
+
+    /**
+     * Close stage.
+     * @throws InterruptedException  If closing is interrupted
+     */
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        runAndWait(new Runnable() {
+            public void run() {
+                stage.close();
+            }
+        });
+    }
+
+    /**
+     * Run one pulse of stage.
+     * @return  Rendered frame
+     * @throws InterruptedException  If pulse is interrupted
+     */
+    @Benchmark
+    public WritableImage pulse() throws InterruptedException {
+        runAndWait(pulse);
+        return frame;
+    }
+
+    /**
+     * Run action on application thread and wait for it, failure of action fails benchmark.
+     * @param action  Action
+     * @throws InterruptedException  If waiting is interrupted
+     */
+    private static void runAndWait(final Runnable action) throws InterruptedException {
+        final CountDownLatch done = new CountDownLatch(1);
+        final Throwable[] failure = new Throwable[1];
+        Platform.runLater(new Runnable() {
+            public void run() {
+                try {
+                    action.run();
+                } catch (Throwable e) {
+                    failure[0] = e;
+                } finally {
+                    done.countDown();
+                }
+            }
+        });
+        done.await();
+
+        if (failure[0] != null) {
+            throw new IllegalStateException("Benchmark failed on application thread", failure[0]);
+        }
+    }
+
+    /**
+     * Application starting JavaFX toolkit, Platform.startup is API of JavaFX 9 and later.
+     */
+    public static class Toolkit extends Application {
+
+        /** Is toolkit started or not. */
+        private static final CountDownLatch STARTED = new CountDownLatch(1);
+
+        /** Is toolkit launched or not. */
+        private static boolean launched;
+
+        /**
+         * Launch toolkit once per JVM and wait for it.
+         * @throws InterruptedException  If waiting is interrupted
+         */
+        static synchronized void start() throws InterruptedException {
+            if (! launched) {
+                launched = true;
+                Thread launcher = new Thread(new Runnable() {
+                    public void run() {
+                        Application.launch(Toolkit.class);
+                    }
+                }, "Toolkit launcher");
+                launcher.setDaemon(true);
+                launcher.start();
+            }
+            STARTED.await();
+        }
+
+        /**
+         * Keep toolkit running after stages of benchmark are closed.
+         * @param stage  Primary stage, it isn't shown
+         */
+        @Override
+        public void start(Stage stage) {
+            Platform.setImplicitExit(false);
+            STARTED.countDown();
+        }
+    }
+}
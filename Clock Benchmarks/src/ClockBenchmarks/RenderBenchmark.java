@@ -0,0 +1,113 @@
+package ClockBenchmarks;
+
+import MyClock.ClockRenderer;
+import MyClock.FrameCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Frames per second of {@link ClockRenderer#render(BufferedImage)} by paint path and size:
+ * vector face and arrows, cached face, and memory mapped frame cache.
+ * Time moves by one second per frame, so arrows are painted at new angles.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderBenchmark {
+
+    /** Size of square frame in pixels. */
+    @Param({"100", "400", "1080"})
+    private int size;
+
+    /** Paint path: vector, face or frames. */
+    @Param({"vector", "face", "frames"})
+    private String path;
+
+    /** Renderer. */
+    private ClockRenderer renderer;
+
+    /** Frame image. */
+    private BufferedImage image;
+
+    /** Directory of frame cache, null for other paths. */
+    private File cacheDirectory;
+
+    /** Time of frame in milliseconds. */
+    private long time;
+
+    /**
+     * Configure renderer for paint path and render first frame, so caches are built.
+     * @throws IOException  If directory of frame cache can't be created or cache can't be built
+     * @throws InterruptedException  If waiting for frame cache is interrupted
+     */
+    @Setup
+    public void setUp() throws IOException, InterruptedException {
+        renderer = new ClockRenderer();
+        renderer.setScreenSize(new Dimension(1920, 1080));
+        renderer.setBackground(Color.WHITE);
+
+        if (path.equals("vector")) {
+            renderer.setFaceCached(false);
+        } else if (path.equals("frames")) {
+            cacheDirectory = File.createTempFile("clock-frames", "");
+            if (! cacheDirectory.delete() || ! cacheDirectory.mkdir()) {
+                throw new IOException("Directory " + cacheDirectory + " can't be created");
+            }
+            renderer.setFrameCache(cacheDirectory, FrameCache.DEFAULT_STEPS);
+        }
+
+        image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        renderer.render(image);
+        // Frame cache is built on background thread
+        renderer.awaitFrameCache();
+    }
+
+    /**
+     * Delete frame cache files.
+     */
+    @TearDown
+    public void tearDown() {
+        if (cacheDirectory == null) {
+            return;
+        }
+
+        File[] files = cacheDirectory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        cacheDirectory.delete();
+    }
+
+    /**
+     * Render next frame.
+     * @return  Frame image
+     */
+    @Benchmark
+    public BufferedImage render() {
+        time += 1000;
+        renderer.setTimeMillis(time);
+        renderer.render(image);
+        return image;
+    }
+}
@@ -0,0 +1,62 @@
+package ClockBenchmarks;
+
+import ClockCommon.TimeOfDay;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of decomposition of current time into fields by {@link TimeOfDay} against {@link Calendar},
+ * as clocks ticked before it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimeBenchmark {
+
+    /** Decomposition by integer arithmetic. */
+    private final TimeOfDay timeOfDay = new TimeOfDay();
+
+    /** Decomposition by calendar. */
+    private final Calendar calendar = Calendar.getInstance();
+
+    /** Time in milliseconds, it moves by 10 ms tick. */
+    private long time = System.currentTimeMillis();
+
+    /**
+     * Decompose by time of day.
+     * @return  Sum of fields
+     */
+    @Benchmark
+    public int timeOfDay() {
+        time += 10;
+        timeOfDay.update(time);
+        return timeOfDay.getHours() + timeOfDay.getMinutes() + timeOfDay.getSeconds()
+                + timeOfDay.getMilliseconds();
+    }
+
+    /**
+     * Decompose by calendar.
+     * @return  Sum of fields
+     */
+    @Benchmark
+    public int calendar() {
+        time += 10;
+        calendar.setTime(new Date(time));
+        return calendar.get(Calendar.HOUR) + calendar.get(Calendar.MINUTE) + calendar.get(Calendar.SECOND)
+                + calendar.get(Calendar.MILLISECOND);
+    }
+}
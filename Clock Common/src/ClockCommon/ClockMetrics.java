@@ -0,0 +1,306 @@
+package ClockCommon;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Frame time and jank metrics of clock: paint durations, lateness of ticks, frames per second,
+ * dropped and coalesced ticks and allocation per frame. Recording is lock-free,
+ * metrics can be read in process or through JMX after {@link #register(String)}.
+ */
+public class ClockMetrics implements ClockMetricsMBean {
+
+    /** Nanoseconds in millisecond. */
+    private static final double NANOS_PER_MILLI = 1000000.0;
+
+    /** Nanoseconds in second. */
+    private static final long NANOS_PER_SECOND = 1000000000L;
+
+    /** Thread bean able to measure allocation, null if JVM can't do it. */
+    private static final com.sun.management.ThreadMXBean allocationBean = getAllocationBean();
+
+    /** Durations of paints. */
+    private final Histogram paintTimes = new Histogram();
+
+    /** Lateness of ticks. */
+    private final Histogram tickLateness = new Histogram();
+
+    /** Count of missed ticks. */
+    private final AtomicLong droppedTicks = new AtomicLong();
+
+    /** Count of ticks painted together with later ones. */
+    private final AtomicLong coalescedTicks = new AtomicLong();
+
+    /** Count of ticks since last paint. */
+    private final AtomicLong pendingTicks = new AtomicLong();
+
+    /** Bytes allocated by measured frames. */
+    private final AtomicLong allocatedBytes = new AtomicLong();
+
+    /** Count of frames with measured allocation. */
+    private final AtomicLong allocationFrames = new AtomicLong();
+
+    /** Count of frames in current second. */
+    private final AtomicLong windowFrames = new AtomicLong();
+
+    /** Start of current second in nanoseconds. */
+    private volatile long windowStart = System.nanoTime();
+
+    /** Frames painted during last second. */
+    private volatile double framesPerSecond;
+
+    /** Time from JVM start to first paint in milliseconds. */
+    private volatile long timeToFirstPaint = -1;
+
+    /** Time from JVM start to first full paint in milliseconds. */
+    private volatile long timeToFullPaint = -1;
+
+    /** JMX domain of application. */
+    private final String domain;
+
+    /** Name the metrics are registered with, null if not registered. */
+    private ObjectName objectName;
+
+    /**
+     * Constructor of metrics.
+     * @param domain  JMX domain the metrics are registered in, for example name of application
+     */
+    public ClockMetrics(String domain) {
+        if (domain == null || domain.isEmpty()) {
+            throw new IllegalArgumentException("Domain must not be empty");
+        }
+
+        this.domain = domain;
+    }
+
+    /**
+     * Record painted frame.
+     * @param startNanos  Start of paint by {@link System#nanoTime()}
+     * @param endNanos  End of paint by {@link System#nanoTime()}
+     * @param allocated  Bytes allocated while painting, negative if not measured
+     */
+    public void recordPaint(long startNanos, long endNanos, long allocated) {
+        paintTimes.record(endNanos - startNanos);
+
+        if (allocated >= 0) {
+            allocatedBytes.addAndGet(allocated);
+            allocationFrames.incrementAndGet();
+        }
+
+        // All ticks since last paint are shown by this frame
+        long ticks = pendingTicks.getAndSet(0);
+        if (ticks > 1) {
+            coalescedTicks.addAndGet(ticks - 1);
+        }
+
+        // Count frames of current second
+        long frames = windowFrames.incrementAndGet();
+        long elapsed = endNanos - windowStart;
+        if (elapsed >= NANOS_PER_SECOND) {
+            framesPerSecond = frames * (double)NANOS_PER_SECOND / elapsed;
+            windowStart = endNanos;
+            windowFrames.set(0);
+        }
+    }
+
+    /**
+     * Record tick.
+     * @param latenessNanos  Delay of tick after its due time in nanoseconds
+     * @param periodNanos  Nominal period of ticks in nanoseconds
+     */
+    public void recordTick(long latenessNanos, long periodNanos) {
+        tickLateness.record(latenessNanos);
+        pendingTicks.incrementAndGet();
+
+        // Tick late by whole periods has replaced missed ones
+        if (periodNanos > 0 && latenessNanos >= periodNanos) {
+            droppedTicks.addAndGet(latenessNanos / periodNanos);
+        }
+    }
+
+    /**
+     * Record startup time.
+     * @param full  Is it time to full paint or to first paint
+     * @param millis  Time from JVM start in milliseconds
+     */
+    public void recordStartup(boolean full, long millis) {
+        if (full) {
+            timeToFullPaint = millis;
+        } else {
+            timeToFirstPaint = millis;
+        }
+    }
+
+    /**
+     * Histogram of paint durations getter.
+     * @return  Histogram in nanoseconds
+     */
+    public Histogram getPaintTimes() {
+        return paintTimes;
+    }
+
+    /**
+     * Histogram of ticks lateness getter.
+     * @return  Histogram in nanoseconds
+     */
+    public Histogram getTickLateness() {
+        return tickLateness;
+    }
+
+    @Override
+    public long getFrameCount() {
+        return paintTimes.getCount();
+    }
+
+    @Override
+    public double getFramesPerSecond() {
+        return framesPerSecond;
+    }
+
+    @Override
+    public double getPaintMeanMillis() {
+        return paintTimes.getMean() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getPaint50thPercentileMillis() {
+        return paintTimes.getPercentile(50) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getPaint99thPercentileMillis() {
+        return paintTimes.getPercentile(99) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getPaintMaxMillis() {
+        return paintTimes.getMax() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public long getTickCount() {
+        return tickLateness.getCount();
+    }
+
+    @Override
+    public double getTickLatenessMeanMillis() {
+        return tickLateness.getMean() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getTickLateness99thPercentileMillis() {
+        return tickLateness.getPercentile(99) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getTickLatenessMaxMillis() {
+        return tickLateness.getMax() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public long getDroppedTicks() {
+        return droppedTicks.get();
+    }
+
+    @Override
+    public long getCoalescedTicks() {
+        return coalescedTicks.get();
+    }
+
+    @Override
+    public double getAllocatedBytesPerFrame() {
+        long frames = allocationFrames.get();
+        return frames == 0 ? -1 : (double)allocatedBytes.get() / frames;
+    }
+
+    @Override
+    public long getTimeToFirstPaintMillis() {
+        return timeToFirstPaint;
+    }
+
+    @Override
+    public long getTimeToFullPaintMillis() {
+        return timeToFullPaint;
+    }
+
+    @Override
+    public void reset() {
+        paintTimes.reset();
+        tickLateness.reset();
+        droppedTicks.set(0);
+        coalescedTicks.set(0);
+        pendingTicks.set(0);
+        allocatedBytes.set(0);
+        allocationFrames.set(0);
+        windowFrames.set(0);
+        windowStart = System.nanoTime();
+        framesPerSecond = 0;
+    }
+
+    /**
+     * Register metrics in platform MBean server.
+     * @param name  Name of clock, for example its window title
+     */
+    public synchronized void register(String name) {
+        unregister();
+
+        try {
+            ObjectName objectName = new ObjectName(domain + ":type=ClockMetrics,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            this.objectName = objectName;
+        } catch (JMException e) {
+            throw new IllegalArgumentException("Metrics can't be registered as " + name, e);
+        }
+    }
+
+    /**
+     * Unregister metrics from platform MBean server, if they are registered.
+     */
+    public synchronized void unregister() {
+        if (objectName == null) {
+            return;
+        }
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.unregisterMBean(objectName);
+        } catch (JMException e) {
+            // Metrics are already unregistered by someone else
+        }
+        objectName = null;
+    }
+
+    /**
+     * Count of bytes allocated by current thread so far.
+     * @return  Bytes, -1 if allocation isn't measured by this JVM
+     */
+    public static long getThreadAllocatedBytes() {
+        if (allocationBean == null) {
+            return -1;
+        }
+
+        return allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Get thread bean able to measure allocation.
+     * @return  Thread bean, null if JVM can't measure allocation
+     */
+    private static com.sun.management.ThreadMXBean getAllocationBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean)bean;
+            if (allocationBean.isThreadAllocatedMemorySupported()
+                    && allocationBean.isThreadAllocatedMemoryEnabled()) {
+                return allocationBean;
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,102 @@
+package ClockCommon;
+
+/**
+ * Management interface of clock metrics, durations are in milliseconds.
+ */
+public interface ClockMetricsMBean {
+
+    /**
+     * Count of painted frames.
+     * @return  Count of frames
+     */
+    long getFrameCount();
+
+    /**
+     * Frames painted during last second.
+     * @return  Frames per second
+     */
+    double getFramesPerSecond();
+
+    /**
+     * Mean paint duration.
+     * @return  Duration in milliseconds
+     */
+    double getPaintMeanMillis();
+
+    /**
+     * Median paint duration.
+     * @return  Duration in milliseconds
+     */
+    double getPaint50thPercentileMillis();
+
+    /**
+     * 99th percentile of paint duration.
+     * @return  Duration in milliseconds
+     */
+    double getPaint99thPercentileMillis();
+
+    /**
+     * Maximum paint duration.
+     * @return  Duration in milliseconds
+     */
+    double getPaintMaxMillis();
+
+    /**
+     * Count of ticks.
+     * @return  Count of ticks
+     */
+    long getTickCount();
+
+    /**
+     * Mean lateness of ticks.
+     * @return  Lateness in milliseconds
+     */
+    double getTickLatenessMeanMillis();
+
+    /**
+     * 99th percentile of ticks lateness.
+     * @return  Lateness in milliseconds
+     */
+    double getTickLateness99thPercentileMillis();
+
+    /**
+     * Maximum lateness of ticks.
+     * @return  Lateness in milliseconds
+     */
+    double getTickLatenessMaxMillis();
+
+    /**
+     * Count of ticks missed because previous ones were late by whole period or more.
+     * @return  Count of ticks
+     */
+    long getDroppedTicks();
+
+    /**
+     * Count of ticks painted together with later ones.
+     * @return  Count of ticks
+     */
+    long getCoalescedTicks();
+
+    /**
+     * Mean count of bytes allocated by painting thread per frame.
+     * @return  Bytes per frame, -1 if allocation isn't measured by this JVM
+     */
+    double getAllocatedBytesPerFrame();
+
+    /**
+     * Time from JVM start to first paint of process.
+     * @return  Time in milliseconds, -1 if not recorded
+     */
+    long getTimeToFirstPaintMillis();
+
+    /**
+     * Time from JVM start to first paint of full face of process.
+     * @return  Time in milliseconds, -1 if not recorded
+     */
+    long getTimeToFullPaintMillis();
+
+    /**
+     * Reset all metrics, except startup times.
+     */
+    void reset();
+}
@@ -0,0 +1,150 @@
+package ClockCommon;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+/**
+ * Startup pipeline of clock. Font and time zone data are loaded on background thread,
+ * so clocks paint placeholder face at once and full face when data is ready.
+ * Font is loaded by task of application, see {@link #preload(Runnable)}.
+ * Time from JVM start to first paint and to first full paint is logged.
+ */
+public class ClockStartup {
+
+    /** Listeners waiting for data, guarded by itself. */
+    private static final List<Runnable> listeners = new ArrayList<Runnable>();
+
+    /** Is first paint logged or not. */
+    private static final AtomicBoolean paintLogged = new AtomicBoolean();
+
+    /** Is first full paint logged or not. */
+    private static final AtomicBoolean fullPaintLogged = new AtomicBoolean();
+
+    /** Is preloading started or not, guarded by listeners. */
+    private static boolean started;
+
+    /** Are font and time zone data loaded or not. */
+    private static volatile boolean ready;
+
+    /** Does process exit after first full paint or not. */
+    private static volatile boolean training;
+
+    /**
+     * Startup has static methods only.
+     */
+    private ClockStartup() {
+    }
+
+    /**
+     * Start loading of font and time zone data on background thread, if it isn't started yet.
+     * @param fontLoader  Task loading font of application
+     */
+    public static void preload(final Runnable fontLoader) {
+        synchronized (listeners) {
+            if (started) {
+                return;
+            }
+            started = true;
+        }
+
+        Thread thread = new Thread(new Runnable() {
+            public void run() {
+                try {
+                    // Parse font and load zone rules
+                    fontLoader.run();
+                    new TimeOfDay().update(System.currentTimeMillis());
+                } finally {
+                    notifyReady();
+                }
+            }
+        }, "Clock preload");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Is ready getter.
+     * @return  Are font and time zone data loaded or not
+     */
+    public static boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Run task when data is loaded, at once if it is loaded already.
+     * Task is run on preloading thread otherwise.
+     * @param task  Task
+     */
+    public static void whenReady(Runnable task) {
+        synchronized (listeners) {
+            if (! ready) {
+                listeners.add(task);
+                return;
+            }
+        }
+
+        task.run();
+    }
+
+    /**
+     * Make process exit after first full paint is logged. Run of clock till its first full paint
+     * loads all classes of startup, so class list for AppCDS archive can be dumped by it.
+     */
+    public static void exitAfterFullPaint() {
+        training = true;
+    }
+
+    /**
+     * Log first paint and first full paint of process.
+     * @param full  Is full face painted or placeholder
+     * @param metrics  Metrics to record time to, may be null
+     */
+    public static void recordPaint(final boolean full, final ClockMetrics metrics) {
+        AtomicBoolean logged = full ? fullPaintLogged : paintLogged;
+        if (logged.get() || ! logged.compareAndSet(false, true)) {
+            return;
+        }
+
+        final long now = System.currentTimeMillis();
+
+        // Start time and logger are queried on other thread, so loading of them doesn't delay the frame
+        Thread thread = new Thread(new Runnable() {
+            public void run() {
+                long millis = now - ManagementFactory.getRuntimeMXBean().getStartTime();
+
+                if (metrics != null) {
+                    metrics.recordStartup(full, millis);
+                }
+                Logger.getLogger(ClockStartup.class.getName()).info(
+                        (full ? "First full paint " : "First paint ") + millis + " ms after JVM start");
+
+                // Training run is over
+                if (full && training) {
+                    System.exit(0);
+                }
+            }
+        }, "Clock startup log");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Mark data as loaded and run waiting listeners.
+     */
+    private static void notifyReady() {
+        List<Runnable> waiting;
+
+        synchronized (listeners) {
+            ready = true;
+            waiting = new ArrayList<Runnable>(listeners);
+            listeners.clear();
+        }
+
+        for (Runnable task : waiting) {
+            task.run();
+        }
+    }
+}
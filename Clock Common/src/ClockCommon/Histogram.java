@@ -0,0 +1,158 @@
+package ClockCommon;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of durations. Durations are counted in microseconds,
+ * buckets are linear below 8 microseconds and then 8 buckets per power of two,
+ * so relative error of percentiles is not greater than 12.5%.
+ * Recording never blocks, reading while recording gives nearly consistent values.
+ */
+public class Histogram {
+
+    /** Count of buckets per power of two. */
+    private static final int SUB_BUCKETS = 8;
+
+    /** Bits of sub bucket index. */
+    private static final int SUB_BITS = 3;
+
+    /** Count of buckets, covers durations up to about 12 days. */
+    private static final int BUCKETS = (40 - SUB_BITS + 1) * SUB_BUCKETS;
+
+    /** Counts of durations in buckets. */
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    /** Count of durations. */
+    private final AtomicLong count = new AtomicLong();
+
+    /** Sum of durations in nanoseconds. */
+    private final AtomicLong sum = new AtomicLong();
+
+    /** Maximum duration in nanoseconds. */
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Record duration.
+     * @param nanos  Duration in nanoseconds, negative durations are counted as zero
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+
+        buckets.incrementAndGet(getBucket(nanos / 1000));
+        count.incrementAndGet();
+        sum.addAndGet(nanos);
+
+        // Raise maximum, if other thread hasn't raised it more
+        long current = max.get();
+        while (nanos > current && ! max.compareAndSet(current, nanos)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * Count getter.
+     * @return  Count of recorded durations
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Mean getter.
+     * @return  Mean duration in nanoseconds, zero if nothing is recorded
+     */
+    public double getMean() {
+        long n = count.get();
+        return n == 0 ? 0 : (double)sum.get() / n;
+    }
+
+    /**
+     * Maximum getter.
+     * @return  Maximum duration in nanoseconds
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Percentile getter.
+     * @param percentile  Percentile from 0 to 100
+     * @return  Duration in nanoseconds, middle of bucket the percentile falls into
+     */
+    public long getPercentile(double percentile) {
+        if (! (0 <= percentile && percentile <= 100)) {
+            throw new IllegalArgumentException("Percentile must be from 0 to 100");
+        }
+
+        long total = 0;
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        // Rank of duration the percentile falls on
+        long rank = (long)Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= Math.max(rank, 1)) {
+                long middle = (getLowerBound(i) + getLowerBound(i + 1)) * 1000 / 2;
+                return Math.min(middle, max.get());
+            }
+        }
+
+        return max.get();
+    }
+
+    /**
+     * Reset histogram. Durations recorded while resetting may be partially lost.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+
+    /**
+     * Bucket of duration.
+     * @param micros  Duration in microseconds
+     * @return  Bucket index
+     */
+    private static int getBucket(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int)micros;
+        }
+
+        // Power of two and first bits after leading one
+        int power = 63 - Long.numberOfLeadingZeros(micros);
+        int sub = (int)(micros >>> (power - SUB_BITS)) & (SUB_BUCKETS - 1);
+
+        return Math.min((power - SUB_BITS + 1) * SUB_BUCKETS + sub, BUCKETS - 1);
+    }
+
+    /**
+     * Lower bound of bucket.
+     * @param bucket  Bucket index
+     * @return  Duration in microseconds
+     */
+    private static long getLowerBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+
+        int power = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        int sub = bucket % SUB_BUCKETS;
+
+        return (long)(SUB_BUCKETS + sub) << (power - SUB_BITS);
+    }
+}
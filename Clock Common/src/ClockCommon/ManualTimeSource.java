@@ -0,0 +1,39 @@
+package ClockCommon;
+
+/**
+ * Deterministic time source for tests, time changes only when it is set or advanced.
+ */
+public class ManualTimeSource extends TimeSource {
+
+    /** Current time in milliseconds. */
+    private volatile long millis;
+
+    /**
+     * Constructor of manual source.
+     * @param millis  Initial time in milliseconds
+     */
+    public ManualTimeSource(long millis) {
+        this.millis = millis;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return millis;
+    }
+
+    /**
+     * Time setter.
+     * @param millis  Time in milliseconds
+     */
+    public synchronized void setTimeMillis(long millis) {
+        this.millis = millis;
+    }
+
+    /**
+     * Move time forward.
+     * @param deltaMillis  Delta in milliseconds
+     */
+    public synchronized void advance(long deltaMillis) {
+        this.millis += deltaMillis;
+    }
+}
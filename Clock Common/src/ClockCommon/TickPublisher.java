@@ -0,0 +1,278 @@
+package ClockCommon;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Publisher of time frames to clock processes of same host. Time is read once per period
+ * and sent by non-blocking datagram channel on loopback to every subscriber,
+ * so all clocks of host show same time. Subscribers register by datagrams to publisher port,
+ * see {@link TickSubscriber}.
+ * <p>
+ * Frame is magic number, type, session, sequence number and epoch nanoseconds, in big-endian order.
+ * Epoch nanoseconds are counted by {@link System#nanoTime()} from one reading of wall clock,
+ * as wall clock has only millisecond resolution on JDK 8. Wall clock is read again every minute.
+ */
+public class TickPublisher implements Closeable {
+
+    /** Default port of publisher. */
+    public static final int DEFAULT_PORT = 47474;
+
+    /** Default period of frames in milliseconds. */
+    public static final int DEFAULT_PERIOD = 10;
+
+    /** Magic number of datagrams, "CLKT". */
+    static final int MAGIC = 0x434C4B54;
+
+    /** Type of time frame. */
+    static final byte FRAME = 1;
+
+    /** Type of subscription, it is repeated by subscriber to stay registered. */
+    static final byte SUBSCRIBE = 2;
+
+    /** Type of unsubscription. */
+    static final byte UNSUBSCRIBE = 3;
+
+    /** Size of time frame in bytes. */
+    static final int FRAME_SIZE = 4 + 1 + 4 + 8 + 8;
+
+    /** Size of subscription in bytes. */
+    static final int SUBSCRIBE_SIZE = 4 + 1;
+
+    /** Time after last subscription a subscriber is dropped, in nanoseconds. */
+    private static final long SUBSCRIPTION_TIMEOUT = 3000000000L;
+
+    /** Interval of wall clock readings in nanoseconds, so change of system clock is followed. */
+    private static final long ANCHOR_INTERVAL = 60000000000L;
+
+    /** Channel of publisher. */
+    private final DatagramChannel channel;
+
+    /** Period of frames in nanoseconds. */
+    private final long period;
+
+    /** Session of publisher, it lets subscribers tell restarted publisher. */
+    private final int session;
+
+    /** Time of last subscription by subscriber address, guarded by this. */
+    private final Map<SocketAddress, Long> subscribers = new LinkedHashMap<SocketAddress, Long>();
+
+    /** Buffer of sent frame. */
+    private final ByteBuffer frame = ByteBuffer.allocate(FRAME_SIZE);
+
+    /** Buffer of received subscriptions. */
+    private final ByteBuffer received = ByteBuffer.allocate(64);
+
+    /** Publishing thread, null until started. */
+    private Thread thread;
+
+    /** Is publishing stopped or not. */
+    private volatile boolean closed;
+
+    /** Sequence number of last frame. */
+    private long sequence;
+
+    /** Epoch nanoseconds of last wall clock reading. */
+    private long anchorEpochNanos;
+
+    /** Monotonic time of last wall clock reading in nanoseconds. */
+    private long anchorNanos;
+
+    /** Is wall clock read or not. */
+    private boolean anchored;
+
+    /**
+     * Constructor of publisher on loopback port.
+     * @param port  Port subscribers register at
+     * @param periodMillis  Period of frames in milliseconds
+     * @throws IOException  If port can't be bound
+     */
+    public TickPublisher(int port, int periodMillis) throws IOException {
+        if (periodMillis < 1) {
+            throw new IllegalArgumentException("Period must be positive");
+        }
+
+        this.period = periodMillis * 1000000L;
+        this.session = new Random().nextInt();
+        this.channel = DatagramChannel.open();
+        channel.configureBlocking(false);
+        channel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+
+    /**
+     * Port getter.
+     * @return  Port subscribers register at, it is chosen by system if publisher is bound to port 0
+     * @throws IOException  If channel is closed
+     */
+    public int getPort() throws IOException {
+        return ((InetSocketAddress)channel.getLocalAddress()).getPort();
+    }
+
+    /**
+     * Count of subscribers getter.
+     * @return  Count of subscribers registered now
+     */
+    public synchronized int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Start publishing on daemon thread.
+     */
+    public synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+
+        thread = new Thread(new Runnable() {
+            public void run() {
+                publish();
+            }
+        }, "Tick publisher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stop publishing and close channel.
+     * @throws IOException  If channel can't be closed
+     */
+    public void close() throws IOException {
+        closed = true;
+
+        Thread thread;
+        synchronized (this) {
+            thread = this.thread;
+        }
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        channel.close();
+    }
+
+    /**
+     * Loop of publishing thread: register subscribers, send frame and wait for next period.
+     */
+    private void publish() {
+        long due = System.nanoTime();
+
+        while (! closed) {
+            try {
+                receiveSubscriptions();
+                send();
+            } catch (IOException e) {
+                // Channel is closed, other errors are retried on next frame
+                if (! channel.isOpen()) {
+                    return;
+                }
+            }
+
+            // Wait for next frame, frames missed by late one are skipped
+            due += period;
+            long now = System.nanoTime();
+            if (now - due >= period) {
+                due = now;
+            } else {
+                LockSupport.parkNanos(due - now);
+            }
+        }
+    }
+
+    /**
+     * Register and unregister subscribers by received datagrams.
+     * @throws IOException  If channel is closed
+     */
+    private void receiveSubscriptions() throws IOException {
+        long now = System.nanoTime();
+
+        synchronized (this) {
+            while (true) {
+                received.clear();
+                SocketAddress address = channel.receive(received);
+                if (address == null) {
+                    break;
+                }
+
+                received.flip();
+                if (received.remaining() < SUBSCRIBE_SIZE || received.getInt() != MAGIC) {
+                    continue;
+                }
+
+                byte type = received.get();
+                if (type == SUBSCRIBE) {
+                    subscribers.put(address, now);
+                } else if (type == UNSUBSCRIBE) {
+                    subscribers.remove(address);
+                }
+            }
+
+            // Drop subscribers, which have stopped
+            Iterator<Long> iterator = subscribers.values().iterator();
+            while (iterator.hasNext()) {
+                if (now - iterator.next() > SUBSCRIPTION_TIMEOUT) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Read time once and send frame to every subscriber.
+     * @throws IOException  If channel is closed
+     */
+    private void send() throws IOException {
+        long now = System.nanoTime();
+        if (! anchored || now - anchorNanos >= ANCHOR_INTERVAL) {
+            anchor();
+            now = System.nanoTime();
+        }
+
+        frame.clear();
+        frame.putInt(MAGIC);
+        frame.put(FRAME);
+        frame.putInt(session);
+        frame.putLong(++sequence);
+        frame.putLong(anchorEpochNanos + (now - anchorNanos));
+        frame.flip();
+
+        synchronized (this) {
+            for (SocketAddress address : subscribers.keySet()) {
+                // Frame isn't queued if socket buffer is full, next one replaces it
+                channel.send(frame, address);
+                frame.rewind();
+            }
+        }
+    }
+
+    /**
+     * Read wall clock and take monotonic time of that reading. Wall clock is read when its millisecond
+     * changes, so reading is start of that millisecond, not any time in it.
+     */
+    private void anchor() {
+        long previous = System.currentTimeMillis();
+        long millis;
+        do {
+            millis = System.currentTimeMillis();
+        } while (millis == previous);
+
+        anchorNanos = System.nanoTime();
+        anchorEpochNanos = millis * 1000000L;
+        anchored = true;
+    }
+}
@@ -0,0 +1,287 @@
+package ClockCommon;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+
+/**
+ * Source of time received from {@link TickPublisher} of same host. Frames are read from
+ * non-blocking datagram channel by selector thread as they arrive, and offset of publisher time
+ * from {@link System#nanoTime()} is kept, so reading time is lock-free. Delays of sending and
+ * receiving threads only make frames look older, so offset is maximum over recent frames.
+ * System clock is used until first frame arrives and after publisher is lost.
+ */
+public class TickSubscriber extends TimeSource implements Closeable {
+
+    /** Interval of repeated subscriptions in milliseconds. */
+    private static final long SUBSCRIBE_INTERVAL = 1000;
+
+    /** Count of frames in window of offset maximum. */
+    private static final int WINDOW = 50;
+
+    /** Time after last frame the publisher is counted as lost, in nanoseconds. */
+    private static final long FRAME_TIMEOUT = 2000000000L;
+
+    /** Channel connected to publisher. */
+    private final DatagramChannel channel;
+
+    /** Selector waking receiving thread on frames. */
+    private final Selector selector;
+
+    /** Buffer of received frames, owned by receiving thread. */
+    private final ByteBuffer received = ByteBuffer.allocate(64);
+
+    /** Subscription datagram. */
+    private final ByteBuffer subscription = ByteBuffer.allocate(TickPublisher.SUBSCRIBE_SIZE);
+
+    /** Receiving thread, null until started. */
+    private Thread thread;
+
+    /** Is receiving stopped or not. */
+    private volatile boolean closed;
+
+    /** Epoch nanoseconds minus monotonic nanoseconds at arrival of last frame. */
+    private volatile long offset;
+
+    /** Monotonic time of arrival of last frame in nanoseconds, zero before first frame. */
+    private volatile long arrivalNanos;
+
+    /** Sequence number of last frame. */
+    private volatile long sequence;
+
+    /** Count of frames received out of order or repeated. */
+    private volatile long staleFrames;
+
+    /** Session of publisher of last frame. */
+    private int session;
+
+    /** Maximum offset of frames of current window. */
+    private long windowOffset;
+
+    /** Maximum offset of frames of previous window. */
+    private long previousOffset;
+
+    /** Count of frames in current window. */
+    private int windowFrames;
+
+    /** Is previous window full or not. */
+    private boolean previousFull;
+
+    /**
+     * Constructor of subscriber to publisher on loopback port.
+     * @param port  Port of publisher
+     * @throws IOException  If channel can't be opened
+     */
+    public TickSubscriber(int port) throws IOException {
+        channel = DatagramChannel.open();
+        channel.configureBlocking(false);
+        channel.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+
+        selector = Selector.open();
+        channel.register(selector, SelectionKey.OP_READ);
+    }
+
+    /**
+     * Get time of last frame, extrapolated to now.
+     * @return  Milliseconds since epoch
+     */
+    @Override
+    public long currentTimeMillis() {
+        long now = System.nanoTime();
+
+        // Fall back to system clock without publisher
+        if (! isReceiving(now)) {
+            return System.currentTimeMillis();
+        }
+
+        return (now + offset) / 1000000L;
+    }
+
+    /**
+     * Is publisher sending frames or not.
+     * @return  Has frame arrived recently or not
+     */
+    public boolean isReceiving() {
+        return isReceiving(System.nanoTime());
+    }
+
+    /**
+     * Sequence number getter.
+     * @return  Sequence number of last frame
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Stale frames getter.
+     * @return  Count of frames received out of order or repeated
+     */
+    public long getStaleFrames() {
+        return staleFrames;
+    }
+
+    /**
+     * Start receiving on daemon thread.
+     */
+    public synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+
+        thread = new Thread(new Runnable() {
+            public void run() {
+                receive();
+            }
+        }, "Tick subscriber");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Unsubscribe, stop receiving and close channel.
+     * @throws IOException  If channel can't be closed
+     */
+    public void close() throws IOException {
+        closed = true;
+        selector.wakeup();
+
+        Thread thread;
+        synchronized (this) {
+            thread = this.thread;
+        }
+        if (thread != null) {
+            try {
+                thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        try {
+            send(TickPublisher.UNSUBSCRIBE);
+        } catch (IOException e) {
+            // Publisher drops subscriber by timeout
+        }
+        selector.close();
+        channel.close();
+    }
+
+    /**
+     * Is frame arrived recently or not.
+     * @param now  Monotonic time in nanoseconds
+     * @return  Is publisher sending frames or not
+     */
+    private boolean isReceiving(long now) {
+        long arrival = arrivalNanos;
+        return arrival != 0 && now - arrival <= FRAME_TIMEOUT;
+    }
+
+    /**
+     * Loop of receiving thread: subscribe every interval and read frames as they arrive.
+     */
+    private void receive() {
+        long subscribed = 0;
+
+        while (! closed) {
+            try {
+                // Repeat subscription, publisher may have been restarted
+                long now = System.nanoTime();
+                if (subscribed == 0 || now - subscribed >= SUBSCRIBE_INTERVAL * 1000000L) {
+                    subscribed = now;
+                    send(TickPublisher.SUBSCRIBE);
+                }
+
+                if (selector.select(SUBSCRIBE_INTERVAL) > 0) {
+                    selector.selectedKeys().clear();
+                    readFrames(System.nanoTime());
+                }
+            } catch (IOException e) {
+                // Publisher isn't running yet, subscription is repeated
+                if (! channel.isOpen()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Read all waiting frames, latest one is kept.
+     * @param now  Monotonic time of arrival in nanoseconds
+     * @throws IOException  If publisher isn't reachable
+     */
+    private void readFrames(long now) throws IOException {
+        while (true) {
+            received.clear();
+            if (channel.receive(received) == null) {
+                return;
+            }
+
+            received.flip();
+            if (received.remaining() < TickPublisher.FRAME_SIZE || received.getInt() != TickPublisher.MAGIC
+                    || received.get() != TickPublisher.FRAME) {
+                continue;
+            }
+
+            int frameSession = received.getInt();
+            long frameSequence = received.getLong();
+
+            // Frames of restarted publisher start new sequence
+            if (arrivalNanos != 0 && frameSession == session && frameSequence <= sequence) {
+                staleFrames++;
+                continue;
+            }
+            if (frameSession != session) {
+                windowFrames = 0;
+                previousFull = false;
+            }
+
+            session = frameSession;
+            sequence = frameSequence;
+            offset = updateOffset(received.getLong() - now);
+            arrivalNanos = now;
+        }
+    }
+
+    /**
+     * Add offset of frame to window, windows are replaced every {@link #WINDOW} frames,
+     * so change of system clock is followed.
+     * @param frameOffset  Epoch nanoseconds of frame minus monotonic nanoseconds at its arrival
+     * @return  Maximum offset of current and previous windows
+     */
+    private long updateOffset(long frameOffset) {
+        if (windowFrames == 0 || frameOffset > windowOffset) {
+            windowOffset = frameOffset;
+        }
+        windowFrames++;
+
+        long result = previousFull ? Math.max(windowOffset, previousOffset) : windowOffset;
+
+        // Start new window
+        if (windowFrames == WINDOW) {
+            previousOffset = windowOffset;
+            previousFull = true;
+            windowFrames = 0;
+        }
+
+        return result;
+    }
+
+    /**
+     * Send datagram of type to publisher.
+     * @param type  Type of datagram
+     * @throws IOException  If publisher isn't reachable
+     */
+    private synchronized void send(byte type) throws IOException {
+        subscription.clear();
+        subscription.putInt(TickPublisher.MAGIC);
+        subscription.put(type);
+        subscription.flip();
+        channel.write(subscription);
+    }
+}
@@ -0,0 +1,159 @@
+package ClockCommon;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+
+/**
+ * Decomposition of time since epoch into hours, minutes, seconds and milliseconds
+ * of clock face with plain integer arithmetic. Zone offset is cached and recomputed
+ * only when time leaves the period between zone transitions or zone is changed.
+ */
+public class TimeOfDay {
+
+    /** Milliseconds in day. */
+    private static final long DAY = 24 * 60 * 60 * 1000;
+
+    /** Zone of time. */
+    private ZoneId zone;
+
+    /** Rules of zone. */
+    private ZoneRules rules;
+
+    /** Cached zone offset in milliseconds. */
+    private long offset;
+
+    /** Beginning of period the offset is valid in, inclusive. */
+    private long validFrom;
+
+    /** End of period the offset is valid in, exclusive. */
+    private long validUntil;
+
+    /** Hours from 0 to 11. */
+    private int hours;
+
+    /** Minutes. */
+    private int minutes;
+
+    /** Seconds. */
+    private int seconds;
+
+    /** Milliseconds. */
+    private int milliseconds;
+
+    /**
+     * Constructor of decomposition in system default zone.
+     */
+    public TimeOfDay() {
+        this(ZoneId.systemDefault());
+    }
+
+    /**
+     * Constructor of decomposition in given zone.
+     * @param zone  Zone of time
+     */
+    public TimeOfDay(ZoneId zone) {
+        setZone(zone);
+    }
+
+    /**
+     * Zone setter, cached offset is dropped.
+     * @param zone  Zone of time
+     */
+    public void setZone(ZoneId zone) {
+        if (zone == null) {
+            throw new IllegalArgumentException("Zone must not be null");
+        }
+
+        this.zone = zone;
+        this.rules = zone.getRules();
+        // Empty period, offset is recomputed by next update
+        this.validFrom = Long.MAX_VALUE;
+        this.validUntil = Long.MIN_VALUE;
+    }
+
+    /**
+     * Zone getter.
+     * @return  Zone of time
+     */
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    /**
+     * Decompose time.
+     * @param epochMillis  Milliseconds since epoch
+     */
+    public void update(long epochMillis) {
+        // Offset changes only at zone transitions
+        if (epochMillis < validFrom || epochMillis >= validUntil) {
+            updateOffset(epochMillis);
+        }
+
+        // Milliseconds since local midnight
+        int time = (int)Math.floorMod(epochMillis + offset, DAY);
+
+        hours = time / 3600000 % 12;
+        minutes = time / 60000 % 60;
+        seconds = time / 1000 % 60;
+        milliseconds = time % 1000;
+    }
+
+    /**
+     * Hours getter.
+     * @return  Hours from 0 to 11
+     */
+    public int getHours() {
+        return hours;
+    }
+
+    /**
+     * Minutes getter.
+     * @return  Minutes
+     */
+    public int getMinutes() {
+        return minutes;
+    }
+
+    /**
+     * Seconds getter.
+     * @return  Seconds
+     */
+    public int getSeconds() {
+        return seconds;
+    }
+
+    /**
+     * Milliseconds getter.
+     * @return  Milliseconds
+     */
+    public int getMilliseconds() {
+        return milliseconds;
+    }
+
+    /**
+     * Offset getter.
+     * @return  Zone offset of last decomposed time in milliseconds
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Calculate zone offset and the period between transitions it is valid in.
+     * @param epochMillis  Milliseconds since epoch
+     */
+    private void updateOffset(long epochMillis) {
+        Instant instant = Instant.ofEpochMilli(epochMillis);
+        offset = rules.getOffset(instant).getTotalSeconds() * 1000L;
+
+        // Fixed offset zones have no transitions. Previous transition is searched strictly before
+        // the next millisecond, so transition exactly at the instant begins the period
+        ZoneOffsetTransition previous = rules.previousTransition(instant.plusMillis(1));
+        ZoneOffsetTransition next = rules.nextTransition(instant);
+
+        validFrom = previous == null ? Long.MIN_VALUE : previous.toEpochSecond() * 1000L;
+        validUntil = next == null ? Long.MAX_VALUE : next.toEpochSecond() * 1000L;
+    }
+}
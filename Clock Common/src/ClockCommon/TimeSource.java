@@ -0,0 +1,101 @@
+package ClockCommon;
+
+/**
+ * Source of time in milliseconds since epoch, which clock displays.
+ * Sources anchored at some time run from {@link System#nanoTime()} deltas,
+ * so they don't drift, when timer ticks come late or are coalesced.
+ */
+public abstract class TimeSource {
+
+    /** Source of system clock time. */
+    private static final TimeSource SYSTEM = new TimeSource() {
+        @Override
+        public long currentTimeMillis() {
+            return System.currentTimeMillis();
+        }
+    };
+
+    /**
+     * Get current time of source.
+     * @return  Milliseconds since epoch
+     */
+    public abstract long currentTimeMillis();
+
+    /**
+     * Source of system clock time.
+     * @return  System time source
+     */
+    public static TimeSource system() {
+        return SYSTEM;
+    }
+
+    /**
+     * Source of system clock time shifted by fixed offset, anchored at creation.
+     * @param offsetMillis  Offset in milliseconds
+     * @return  Time source
+     */
+    public static TimeSource offset(long offsetMillis) {
+        return new AnchoredTimeSource(System.currentTimeMillis() + offsetMillis, 1.0);
+    }
+
+    /**
+     * Source of scaled time, which starts at given time and runs {@code rate} times faster than real time.
+     * @param startMillis  Time at creation in milliseconds
+     * @param rate  Rate of time
+     * @return  Time source
+     */
+    public static TimeSource scaled(long startMillis, double rate) {
+        return new AnchoredTimeSource(startMillis, rate);
+    }
+
+    /**
+     * Deterministic source, which changes only when it is set or advanced.
+     * @param startMillis  Time at creation in milliseconds
+     * @return  Time source
+     */
+    public static ManualTimeSource manual(long startMillis) {
+        return new ManualTimeSource(startMillis);
+    }
+
+    /**
+     * Source of time running from monotonic nanoseconds deltas since anchor.
+     */
+    private static class AnchoredTimeSource extends TimeSource {
+
+        /** Time at anchor in milliseconds. */
+        private final long anchorMillis;
+
+        /** Monotonic time at anchor in nanoseconds. */
+        private final long anchorNanos;
+
+        /** Rate of time. */
+        private final double rate;
+
+        /**
+         * Constructor of anchored source.
+         * @param anchorMillis  Time at anchor in milliseconds
+         * @param rate  Rate of time
+         */
+        AnchoredTimeSource(long anchorMillis, double rate) {
+            if (! (rate >= 0)) {
+                throw new IllegalArgumentException("Rate must not be negative");
+            }
+
+            this.anchorMillis = anchorMillis;
+            this.anchorNanos = System.nanoTime();
+            this.rate = rate;
+        }
+
+        @Override
+        public long currentTimeMillis() {
+            long elapsed = System.nanoTime() - anchorNanos;
+
+            // Avoid floating point for real time rate
+            if (rate == 1.0) {
+                return anchorMillis + elapsed / 1000000L;
+            }
+
+            return anchorMillis + (long)(elapsed * rate / 1000000.0);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package ClockCommon;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.Arrays;
+
+/**
+ * Check time of {@link TickPublisher} frames on loopback: frames have sub-millisecond resolution,
+ * they follow monotonic clock of receiver, and they agree with wall clock,
+ * as does time of {@link TickSubscriber}.
+ * It throws {@link IllegalStateException} on failure.
+ */
+public class TickFeedCheck {
+
+    /** Count of received frames. */
+    private static final int FRAMES = 200;
+
+    /** Allowed median delay of frames in nanoseconds. */
+    private static final long DELAY = 1000000L;
+
+    /** Allowed difference from wall clock in nanoseconds, wall clock has millisecond resolution. */
+    private static final long TOLERANCE = 2000000L;
+
+    /**
+     * Run check.
+     * @param args  Not used
+     * @throws Exception  If channels can't be opened or check is interrupted
+     */
+    public static void main(String[] args) throws Exception {
+        TickPublisher publisher = new TickPublisher(0, TickPublisher.DEFAULT_PERIOD);
+        try {
+            publisher.start();
+            checkFrames(publisher.getPort());
+            checkSubscriber(publisher.getPort());
+        } finally {
+            publisher.close();
+        }
+    }
+
+    /**
+     * Receive frames and compare their time with monotonic time of arrival and with wall clock.
+     * @param port  Port of publisher
+     * @throws Exception  If channel can't be opened
+     */
+    private static void checkFrames(int port) throws Exception {
+        DatagramChannel channel = DatagramChannel.open();
+        try {
+            channel.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+            ByteBuffer subscription = ByteBuffer.allocate(TickPublisher.SUBSCRIBE_SIZE);
+            subscription.putInt(TickPublisher.MAGIC).put(TickPublisher.SUBSCRIBE).flip();
+            channel.write(subscription);
+
+            // Frame time minus arrival time is the same for all frames, but for delay of sending
+            long[] offsets = new long[FRAMES];
+            int subMillisecond = 0;
+            ByteBuffer received = ByteBuffer.allocate(64);
+            for (int i = 0; i < FRAMES; i++) {
+                received.clear();
+                channel.receive(received);
+                long arrival = System.nanoTime();
+
+                received.flip();
+                if (received.remaining() < TickPublisher.FRAME_SIZE || received.getInt() != TickPublisher.MAGIC
+                        || received.get() != TickPublisher.FRAME) {
+                    throw new IllegalStateException("Datagram isn't time frame");
+                }
+                received.getInt();
+                received.getLong();
+                long epochNanos = received.getLong();
+
+                offsets[i] = epochNanos - arrival;
+                if (epochNanos % 1000000L != 0) {
+                    subMillisecond++;
+                }
+            }
+
+            // Least delayed frame gives offset, threads of busy host delay some frames more
+            Arrays.sort(offsets);
+            long offset = offsets[FRAMES - 1];
+            long delay = offset - offsets[FRAMES / 2];
+
+            long difference = System.nanoTime() + offset - System.currentTimeMillis() * 1000000L;
+            System.out.println("Tick frames: " + subMillisecond + " of " + FRAMES + " with sub-millisecond time, "
+                    + "median delay " + delay / 1000 + " us, " + difference / 1000
+                    + " us from wall clock");
+
+            if (subMillisecond < FRAMES / 2) {
+                throw new IllegalStateException("Frames have millisecond resolution");
+            }
+            if (delay > DELAY) {
+                throw new IllegalStateException("Time of frames doesn't follow monotonic clock, median delay "
+                        + delay + " ns");
+            }
+            if (Math.abs(difference) > TOLERANCE) {
+                throw new IllegalStateException("Frames are " + difference + " ns from wall clock");
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Subscribe and compare time of subscriber with wall clock.
+     * @param port  Port of publisher
+     * @throws Exception  If channel can't be opened or check is interrupted
+     */
+    private static void checkSubscriber(int port) throws Exception {
+        TickSubscriber subscriber = new TickSubscriber(port);
+        try {
+            subscriber.start();
+            // Offset is maximum of full window of frames
+            Thread.sleep(1000);
+            if (! subscriber.isReceiving()) {
+                throw new IllegalStateException("Subscriber doesn't receive frames");
+            }
+
+            // Subscriber time is compared with wall clock read before and after it
+            long maxDifference = 0;
+            for (int i = 0; i < 1000; i++) {
+                long before = System.currentTimeMillis();
+                long time = subscriber.currentTimeMillis();
+                long after = System.currentTimeMillis();
+                long difference = time < before ? before - time : time > after ? time - after : 0;
+                maxDifference = Math.max(maxDifference, difference);
+                Thread.sleep(0, 100000);
+            }
+
+            System.out.println("Tick subscriber: at most " + maxDifference + " ms from wall clock");
+            if (maxDifference > TOLERANCE / 1000000L) {
+                throw new IllegalStateException("Subscriber is " + maxDifference + " ms from wall clock");
+            }
+        } finally {
+            subscriber.close();
+        }
+    }
+}
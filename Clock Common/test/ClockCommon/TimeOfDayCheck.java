@@ -0,0 +1,103 @@
+package ClockCommon;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+
+/**
+ * Check {@link TimeOfDay} against {@link ZonedDateTime} around zone transitions:
+ * daylight saving shifts of whole hour, half an hour and negative saving,
+ * zones of southern hemisphere, and times before epoch.
+ * It throws {@link IllegalStateException} on failure.
+ */
+public class TimeOfDayCheck {
+
+    /** Zones with daylight saving time. */
+    private static final String[] ZONES = {
+        "America/New_York", "Europe/London", "Europe/Berlin", "Europe/Dublin",
+        "Australia/Sydney", "Australia/Lord_Howe", "America/Santiago", "Asia/Tehran"
+    };
+
+    /** Checked time before and after each transition in milliseconds. */
+    private static final long SPAN = 3 * 60 * 60 * 1000L;
+
+    /** Step of checked times in milliseconds, not a divisor of minute. */
+    private static final long STEP = 7 * 60 * 1000L + 13;
+
+    /**
+     * Run check.
+     * @param args  Not used
+     */
+    public static void main(String[] args) {
+        int checked = 0;
+
+        for (String id : ZONES) {
+            ZoneId zone = ZoneId.of(id);
+            checked += checkTransitions(zone, Instant.parse("1965-01-01T00:00:00Z"), 2);
+            checked += checkTransitions(zone, Instant.parse("2024-01-01T00:00:00Z"), 6);
+        }
+
+        System.out.println("Times of day agree with ZonedDateTime at " + checked + " times in "
+                + ZONES.length + " zones");
+    }
+
+    /**
+     * Check times around transitions of zone after given instant.
+     * @param zone  Zone
+     * @param from  Instant to look for transitions after
+     * @param count  Count of transitions
+     * @return  Count of checked times
+     */
+    private static int checkTransitions(ZoneId zone, Instant from, int count) {
+        ZoneRules rules = zone.getRules();
+        int checked = 0;
+
+        ZoneOffsetTransition transition = rules.nextTransition(from);
+        for (int i = 0; i < count && transition != null; i++) {
+            long at = transition.toEpochSecond() * 1000L;
+
+            // One decomposition goes forward through transition, so its cached offset must be replaced
+            TimeOfDay forward = new TimeOfDay(zone);
+            for (long time = at - SPAN; time <= at + SPAN; time += STEP) {
+                check(forward, time);
+                checked++;
+            }
+
+            // Another one goes backward, and visits the last millisecond before transition and transition itself
+            TimeOfDay backward = new TimeOfDay(zone);
+            for (long time = at + SPAN; time >= at - SPAN; time -= STEP) {
+                check(backward, time);
+                checked++;
+            }
+            check(backward, at);
+            check(backward, at - 1);
+            check(backward, at);
+            checked += 3;
+
+            transition = rules.nextTransition(transition.getInstant());
+        }
+
+        return checked;
+    }
+
+    /**
+     * Decompose time and compare fields with zoned date time.
+     * @param timeOfDay  Decomposition
+     * @param epochMillis  Milliseconds since epoch
+     */
+    private static void check(TimeOfDay timeOfDay, long epochMillis) {
+        timeOfDay.update(epochMillis);
+        ZonedDateTime expected = Instant.ofEpochMilli(epochMillis).atZone(timeOfDay.getZone());
+
+        if (timeOfDay.getHours() != expected.getHour() % 12
+                || timeOfDay.getMinutes() != expected.getMinute()
+                || timeOfDay.getSeconds() != expected.getSecond()
+                || timeOfDay.getMilliseconds() != expected.getNano() / 1000000) {
+            throw new IllegalStateException("Time " + epochMillis + " is decomposed into " + timeOfDay.getHours()
+                    + ":" + timeOfDay.getMinutes() + ":" + timeOfDay.getSeconds() + "."
+                    + timeOfDay.getMilliseconds() + ", expected " + expected);
+        }
+    }
+}
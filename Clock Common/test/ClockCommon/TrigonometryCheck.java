@@ -0,0 +1,69 @@
+package ClockCommon;
+
+/**
+ * Check interpolated sine and cosine of {@link Trigonometry} against {@link Math}: error over sweep
+ * of angles, including negative angles and angles of several turns, must not exceed
+ * {@link Trigonometry#getMaxError(int)}, and at default resolution it must be less than 0.001 pixel
+ * at radius of clock face fitting 4K screen, as documented.
+ * It throws {@link IllegalStateException} on failure.
+ */
+public class TrigonometryCheck {
+
+    /** Least resolution accepted by angle engine. */
+    private static final int MIN_RESOLUTION = 4;
+
+    /** Radius the error is measured at in pixels. */
+    private static final double RADIUS = 1080;
+
+    /** Allowed error at default resolution in pixels. */
+    private static final double DEFAULT_PIXEL_ERROR = 0.001;
+
+    /** Count of checked angles per turn, not a multiple of resolutions. */
+    private static final int ANGLES = 100003;
+
+    /** Count of checked turns, from minus half to plus half of them. */
+    private static final int TURNS = 6;
+
+    /** Allowed rounding error of interpolation in pixels. */
+    private static final double ROUNDING = 1e-9;
+
+    /**
+     * Run check.
+     * @param args  Not used
+     */
+    public static void main(String[] args) {
+        double defaultError = check(Trigonometry.DEFAULT_RESOLUTION);
+        check(MIN_RESOLUTION);
+
+        if (defaultError >= DEFAULT_PIXEL_ERROR) {
+            throw new IllegalStateException("Error at default resolution is " + defaultError + " pixels");
+        }
+    }
+
+    /**
+     * Sweep angles and compare interpolated sine and cosine with exact ones.
+     * @param resolution  Count of table steps per full turn
+     * @return  Maximum error in pixels at radius
+     */
+    private static double check(int resolution) {
+        Trigonometry trigonometry = new Trigonometry(resolution);
+        double bound = Trigonometry.getMaxError(resolution) * RADIUS;
+
+        double maxError = 0;
+        for (int i = -TURNS / 2 * ANGLES; i < TURNS / 2 * ANGLES; i++) {
+            double angle = 2 * Math.PI * i / ANGLES;
+            double error = Math.max(Math.abs(trigonometry.sin(angle) - Math.sin(angle)),
+                    Math.abs(trigonometry.cos(angle) - Math.cos(angle))) * RADIUS;
+            maxError = Math.max(maxError, error);
+        }
+
+        System.out.println(String.format("Trigonometry at resolution %d: max error %.3g pixels at radius %.0f, "
+                + "bound %.3g pixels", resolution, maxError, RADIUS, bound));
+        if (maxError > bound + ROUNDING) {
+            throw new IllegalStateException("Error at resolution " + resolution + " is " + maxError
+                    + " pixels, bound is " + bound + " pixels");
+        }
+
+        return maxError;
+    }
+}
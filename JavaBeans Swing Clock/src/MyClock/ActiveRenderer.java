@@ -0,0 +1,295 @@
+package MyClock;
+
+import ClockCommon.ClockMetrics;
+import ClockCommon.ClockStartup;
+import ClockCommon.TimeOfDay;
+import ClockCommon.TimeSource;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferStrategy;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Canvas painting clock actively by page flipping on its own render thread.
+ * Frames are paced by display refresh rate and painted from time read on render thread,
+ * so busy event dispatch thread doesn't stall the clock.
+ */
+public class ActiveRenderer extends Canvas implements Runnable {
+
+    /** Refresh rate used if display doesn't report it. */
+    private static final int DEFAULT_REFRESH_RATE = 60;
+
+    /** Period of checks while canvas isn't showing, in nanoseconds. */
+    private static final long IDLE_NANOS = 100000000L;
+
+    /** Clock painted by canvas. */
+    private final Clock clock;
+
+    /** Render thread, null while canvas isn't displayable. */
+    private Thread thread;
+
+    /** Is render thread asked to stop or not. */
+    private volatile boolean stopped;
+
+    /** Has clock changed its settings since last frame or not. */
+    private volatile boolean reconfigured;
+
+    /** Period of frames in nanoseconds. */
+    private volatile long period;
+
+    /** Time displayed by clock in milliseconds since midnight or noon, published by clock. */
+    private volatile long timeMillis;
+
+    /** Renderer owned by render thread. */
+    private ClockRenderer renderer;
+
+    /** Decomposition of current time owned by render thread. */
+    private TimeOfDay calendar;
+
+    /** Mode of clock ticks, milliseconds aren't shown in tick mode. */
+    private TickMode tickMode;
+
+    /** Is debug overlay painted or not. */
+    private boolean debugOverlay;
+
+    /** Debug overlay owned by render thread. */
+    private final MetricsOverlay overlay = new MetricsOverlay();
+
+    /** Metrics of clock taken with settings, null if none. */
+    private ClockMetrics metrics;
+
+    /** Background of clock taken with settings. */
+    private Color background;
+
+    /**
+     * Constructor of canvas.
+     * @param clock  Clock painted by canvas
+     */
+    public ActiveRenderer(Clock clock) {
+        this.clock = clock;
+        this.period = 1000000000L / DEFAULT_REFRESH_RATE;
+        this.reconfigured = true;
+
+        // Frames are painted by render thread only
+        setIgnoreRepaint(true);
+        // Mouse events are passed to clock
+        enableEvents(AWTEvent.MOUSE_EVENT_MASK | AWTEvent.MOUSE_MOTION_EVENT_MASK);
+    }
+
+    /**
+     * Take settings of clock on next frame.
+     */
+    public void reconfigure() {
+        reconfigured = true;
+    }
+
+    /**
+     * Time setter, clock publishes its displayed time here, so render thread doesn't read fields of clock.
+     * @param timeMillis  Milliseconds since midnight or noon
+     */
+    public void setTimeMillis(long timeMillis) {
+        this.timeMillis = timeMillis;
+    }
+
+    /**
+     * Period of frames getter.
+     * @return  Period in nanoseconds
+     */
+    public long getPeriod() {
+        return period;
+    }
+
+    /**
+     * Start render thread when canvas becomes displayable.
+     */
+    @Override
+    public void addNotify() {
+        super.addNotify();
+
+        // Pace frames by refresh rate of display
+        DisplayMode mode = getGraphicsConfiguration().getDevice().getDisplayMode();
+        int rate = mode == null ? DisplayMode.REFRESH_RATE_UNKNOWN : mode.getRefreshRate();
+        period = 1000000000L / (rate > 0 ? rate : DEFAULT_REFRESH_RATE);
+
+        stopped = false;
+        reconfigured = true;
+        thread = new Thread(this, "Clock render");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stop render thread before buffers of canvas are destroyed.
+     */
+    @Override
+    public void removeNotify() {
+        stopped = true;
+
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+
+        super.removeNotify();
+    }
+
+    /**
+     * Pass mouse event to listeners of clock, canvas covers it.
+     * @param e  Mouse event
+     */
+    @Override
+    protected void processMouseEvent(MouseEvent e) {
+        clock.dispatchEvent(SwingUtilities.convertMouseEvent(this, e, clock));
+    }
+
+    /**
+     * Pass mouse motion event to listeners of clock, canvas covers it.
+     * @param e  Mouse event
+     */
+    @Override
+    protected void processMouseMotionEvent(MouseEvent e) {
+        clock.dispatchEvent(SwingUtilities.convertMouseEvent(this, e, clock));
+    }
+
+    /**
+     * Loop of render thread: paint frame, show it and wait for next one.
+     */
+    public void run() {
+        BufferStrategy strategy = null;
+        long due = System.nanoTime();
+
+        while (! stopped) {
+            // Nothing to paint into
+            if (! isShowing() || getWidth() <= 0 || getHeight() <= 0) {
+                LockSupport.parkNanos(IDLE_NANOS);
+                due = System.nanoTime();
+                continue;
+            }
+
+            if (strategy == null) {
+                createBufferStrategy(2);
+                strategy = getBufferStrategy();
+            }
+
+            // Paint frame until contents survive, then flip pages
+            try {
+                do {
+                    do {
+                        Graphics2D g = (Graphics2D)strategy.getDrawGraphics();
+                        try {
+                            paintFrame(g);
+                        } finally {
+                            g.dispose();
+                        }
+                    } while (strategy.contentsRestored());
+                    strategy.show();
+                } while (strategy.contentsLost());
+            } catch (IllegalStateException e) {
+                // Buffers are lost with peer, they are created again
+                strategy = null;
+                continue;
+            }
+            Toolkit.getDefaultToolkit().sync();
+
+            // Wait for next frame, frames missed by late one are skipped
+            long period = this.period;
+            due += period;
+            long now = System.nanoTime();
+            if (now - due >= period) {
+                due = now;
+            } else {
+                LockSupport.parkNanos(due - now);
+            }
+        }
+    }
+
+    /**
+     * Paint one frame of clock.
+     * @param g  Graphics of back buffer
+     */
+    private void paintFrame(Graphics2D g) {
+        // Take settings changed by clock
+        if (reconfigured) {
+            reconfigured = false;
+            renderer = clock.createRenderer();
+            renderer.setGraphicsConfiguration(getGraphicsConfiguration());
+            calendar = clock.createCalendar();
+            tickMode = clock.getTickMode();
+            debugOverlay = clock.isDebugOverlay();
+            metrics = clock.getMetrics();
+            background = clock.getBackground();
+        }
+
+        // Measure only painting of clock
+        long start = 0;
+        long allocated = 0;
+        if (metrics != null) {
+            allocated = ClockMetrics.getThreadAllocatedBytes();
+            start = System.nanoTime();
+        }
+
+        // Clear back buffer by background of clock
+        g.setColor(background);
+        g.fillRect(0, 0, getWidth(), getHeight());
+
+        renderer.setSize(getWidth(), getHeight());
+        boolean ready = ClockStartup.isReady();
+        if (ready) {
+            renderer.setTimeMillis(getFrameTimeMillis());
+            renderer.paint(g);
+        } else {
+            // Font and time zone are still loading
+            renderer.paintPlaceholder(g);
+            ClockStartup.preload(FontService.LOADER);
+        }
+        ClockStartup.recordPaint(ready, metrics);
+
+        if (metrics != null) {
+            long end = System.nanoTime();
+            // Allocation isn't measured if JVM can't do it
+            if (allocated >= 0) {
+                allocated = ClockMetrics.getThreadAllocatedBytes() - allocated;
+            }
+            metrics.recordPaint(start, end, allocated);
+        }
+
+        if (debugOverlay) {
+            overlay.paint(g, metrics);
+        }
+    }
+
+    /**
+     * Get time to paint, current time is read here without waiting for tick of clock.
+     * @return  Milliseconds since midnight or noon
+     */
+    private long getFrameTimeMillis() {
+        if (! clock.isRunning()) {
+            return timeMillis;
+        }
+
+        long time;
+        if (clock.isCurrentTime()) {
+            calendar.update(clock.getTimeSource().currentTimeMillis());
+            time = ((calendar.getHours() * 60L + calendar.getMinutes()) * 60L
+                    + calendar.getSeconds()) * 1000L + calendar.getMilliseconds();
+        } else {
+            // Clock continues from displayed time
+            TimeSource freeRunning = clock.getFreeRunning();
+            time = freeRunning == null ? timeMillis : freeRunning.currentTimeMillis();
+        }
+
+        // Arrows move once per second in tick mode
+        if (tickMode == TickMode.TICK) {
+            time -= time % 1000;
+        }
+
+        return time;
+    }
+}
@@ -0,0 +1,226 @@
+package MyClock;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Property change listener, which delivers events to wrapped listener on executor.
+ * Events wait in bounded lock-free queue, newer event of property replaces waiting one,
+ * so only latest value is delivered. Events of new properties are dropped while queue is full.
+ * Wrapped listener is called by one task at a time, in order of properties changes.
+ * Exception of wrapped listener is logged and delivery continues with next event.
+ */
+public class AsyncListener implements PropertyChangeListener {
+
+    /** Default maximum count of properties waiting for delivery. */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    /** Key of events without property name. */
+    private static final String UNNAMED = "";
+
+    /** Wrapped listener. */
+    private final PropertyChangeListener listener;
+
+    /** Executor of deliveries. */
+    private final Executor executor;
+
+    /** Maximum count of properties waiting for delivery. */
+    private final int capacity;
+
+    /** Latest waiting event by property name. */
+    private final ConcurrentHashMap<String, PropertyChangeEvent> latest =
+            new ConcurrentHashMap<String, PropertyChangeEvent>();
+
+    /** Names of properties waiting for delivery, in order of changes. */
+    private final ConcurrentLinkedQueue<String> queue = new ConcurrentLinkedQueue<String>();
+
+    /** Count of properties waiting for delivery. */
+    private final AtomicInteger depth = new AtomicInteger();
+
+    /** Is delivery task scheduled or running. */
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    /** Count of events replaced by newer ones. */
+    private final AtomicLong coalesced = new AtomicLong();
+
+    /** Count of events dropped because queue was full. */
+    private final AtomicLong dropped = new AtomicLong();
+
+    /** Task delivering waiting events. */
+    private final Runnable drainTask = new Runnable() {
+        public void run() {
+            drain();
+        }
+    };
+
+    /** Metrics to record queue to, may be null. */
+    private volatile BeanMetrics metrics;
+
+    /**
+     * Constructor of asynchronous listener.
+     * @param listener  Wrapped listener
+     * @param executor  Executor of deliveries
+     * @param capacity  Maximum count of properties waiting for delivery
+     */
+    public AsyncListener(PropertyChangeListener listener, Executor executor, int capacity) {
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor must not be null");
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+
+        this.listener = listener;
+        this.executor = executor;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Wrapped listener getter.
+     * @return  Wrapped listener
+     */
+    public PropertyChangeListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Metrics setter.
+     * @param metrics  Metrics to record queue depth, coalesced and dropped events to, null to stop recording
+     */
+    public void setMetrics(BeanMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Queue depth getter.
+     * @return  Count of properties waiting for delivery
+     */
+    public int getQueueDepth() {
+        return depth.get();
+    }
+
+    /**
+     * Coalesced events getter.
+     * @return  Count of events replaced by newer ones before delivery
+     */
+    public long getCoalescedEvents() {
+        return coalesced.get();
+    }
+
+    /**
+     * Dropped events getter.
+     * @return  Count of events dropped because queue was full
+     */
+    public long getDroppedEvents() {
+        return dropped.get();
+    }
+
+    /**
+     * Queue event for delivery, it replaces waiting event of same property.
+     * @param evt  Event
+     */
+    public void propertyChange(PropertyChangeEvent evt) {
+        String name = evt.getPropertyName() == null ? UNNAMED : evt.getPropertyName();
+        BeanMetrics metrics = this.metrics;
+
+        if (latest.put(name, evt) != null) {
+            // Waiting event is replaced, its property is queued already
+            coalesced.incrementAndGet();
+            if (metrics != null) {
+                metrics.recordCoalescedEvent();
+            }
+        } else if (! reserve()) {
+            // Queue is full
+            latest.remove(name);
+            dropped.incrementAndGet();
+            if (metrics != null) {
+                metrics.recordDroppedEvent();
+            }
+            return;
+        } else {
+            queue.add(name);
+            if (metrics != null) {
+                metrics.recordEventQueue(1);
+            }
+        }
+
+        schedule();
+    }
+
+    /**
+     * Reserve place in queue, concurrent producers can't exceed capacity.
+     * @return  Is place reserved or is queue full
+     */
+    private boolean reserve() {
+        while (true) {
+            int current = depth.get();
+            if (current >= capacity) {
+                return false;
+            }
+            if (depth.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Schedule delivery task, if it isn't scheduled yet.
+     */
+    private void schedule() {
+        if (! draining.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            executor.execute(drainTask);
+        } catch (RejectedExecutionException e) {
+            // Events stay queued until executor accepts task
+            draining.set(false);
+        }
+    }
+
+    /**
+     * Deliver waiting events.
+     */
+    private void drain() {
+        try {
+            String name;
+            while ((name = queue.poll()) != null) {
+                PropertyChangeEvent evt = latest.remove(name);
+                depth.decrementAndGet();
+
+                BeanMetrics metrics = this.metrics;
+                if (metrics != null) {
+                    metrics.recordEventQueue(-1);
+                }
+
+                if (evt == null) {
+                    continue;
+                }
+                try {
+                    listener.propertyChange(evt);
+                } catch (RuntimeException e) {
+                    // Failed event doesn't hold back events of other properties
+                    Logger.getLogger(AsyncListener.class.getName()).log(Level.WARNING,
+                            "Listener failed on property change of " + name, e);
+                }
+            }
+        } finally {
+            draining.set(false);
+
+            // Events queued after last poll or left by error of listener
+            if (! queue.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package MyClock;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Renderer of clock frames for time range in parallel, for example all seconds of 12 hours dial.
+ * Frames are rendered in fork join pool, every running task takes its own renderer, graphics and pixels buffer
+ * from the batch, and they are released when the batch is done, so threads of pool keep nothing.
+ */
+public class BatchRenderer {
+
+    /** Count of frames rendered by single task without splitting. */
+    private static final int THRESHOLD = 16;
+
+    /** Width of frame. */
+    private final int width;
+
+    /** Height of frame. */
+    private final int height;
+
+    /** Is clock dark or not. */
+    private boolean darkClock;
+
+    /** Background of frames, transparent if null. */
+    private Color background;
+
+    /** Screen dimension, sizes of arrows and font are relative to it, default if null. */
+    private Dimension screen;
+
+    /** Pool to render frames in. */
+    private ForkJoinPool pool;
+
+    /**
+     * Constructor of batch renderer, frames are rendered in common pool by default.
+     * @param width  Width of frame
+     * @param height  Height of frame
+     */
+    public BatchRenderer(int width, int height) {
+        if (width < 1 || height < 1) {
+            throw new IllegalArgumentException("Frame size must be positive");
+        }
+
+        this.width = width;
+        this.height = height;
+        this.pool = ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Color scheme setter.
+     * @param black  Is black or not
+     */
+    public void setBlack(boolean black) {
+        this.darkClock = black;
+    }
+
+    /**
+     * Background setter.
+     * @param background  Background color, transparent if null
+     */
+    public void setBackground(Color background) {
+        this.background = background;
+    }
+
+    /**
+     * Screen size setter, sizes of arrows and font are relative to it.
+     * @param screen  Screen dimension
+     */
+    public void setScreenSize(Dimension screen) {
+        this.screen = screen;
+    }
+
+    /**
+     * Pool setter.
+     * @param pool  Pool to render frames in
+     */
+    public void setPool(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool must not be null");
+        }
+
+        this.pool = pool;
+    }
+
+    /**
+     * Render frames into sprite sheet, frames are placed row by row.
+     * @param startMillis  Time of first frame in milliseconds since midnight or noon
+     * @param stepMillis  Time between frames in milliseconds
+     * @param count  Count of frames
+     * @param columns  Count of frames in sheet row
+     * @return  Sprite sheet
+     */
+    public BufferedImage renderSpriteSheet(long startMillis, long stepMillis, int count, int columns) {
+        int rows = (count + columns - 1) / columns;
+
+        if ((long)columns * width * rows * height > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Sprite sheet is too big, use raw file instead");
+        }
+
+        BufferedImage sheet = new BufferedImage(columns * width, rows * height, BufferedImage.TYPE_INT_ARGB);
+        final int[] sheetPixels = ((DataBufferInt)sheet.getRaster().getDataBuffer()).getData();
+        final int sheetWidth = sheet.getWidth();
+        final int columnsCount = columns;
+
+        render(startMillis, stepMillis, count, new FrameSink() {
+            public void store(int index, int[] pixels) {
+                // Top left corner of frame cell
+                int offset = (index / columnsCount) * height * sheetWidth + (index % columnsCount) * width;
+
+                for (int y = 0; y < height; y++) {
+                    System.arraycopy(pixels, y * width, sheetPixels, offset + y * sheetWidth, width);
+                }
+            }
+        });
+
+        return sheet;
+    }
+
+    /**
+     * Render frames into memory mapped file of raw ARGB pixels, frame after frame.
+     * @param file  File
+     * @param startMillis  Time of first frame in milliseconds since midnight or noon
+     * @param stepMillis  Time between frames in milliseconds
+     * @param count  Count of frames
+     * @throws IOException  If file can't be written
+     */
+    public void renderRawFile(File file, long startMillis, long stepMillis, int count) throws IOException {
+        final long frameBytes = (long)width * height * 4;
+        // Single mapping is limited to 2 GB, so file is mapped by chunks of whole frames
+        final int chunkFrames = (int)Math.max(1, Integer.MAX_VALUE / frameBytes);
+        final MappedByteBuffer[] chunks = new MappedByteBuffer[(count + chunkFrames - 1) / chunkFrames];
+
+        RandomAccessFile raw = new RandomAccessFile(file, "rw");
+        try {
+            FileChannel channel = raw.getChannel();
+            raw.setLength(frameBytes * count);
+
+            for (int i = 0; i < chunks.length; i++) {
+                int frames = Math.min(chunkFrames, count - i * chunkFrames);
+                chunks[i] = channel.map(FileChannel.MapMode.READ_WRITE, i * chunkFrames * frameBytes,
+                        frames * frameBytes);
+            }
+
+            render(startMillis, stepMillis, count, new FrameSink() {
+                public void store(int index, int[] pixels) {
+                    ByteBuffer frame = chunks[index / chunkFrames].duplicate();
+                    frame.position((int)((index % chunkFrames) * frameBytes));
+                    frame.asIntBuffer().put(pixels);
+                }
+            });
+
+            for (MappedByteBuffer chunk : chunks) {
+                chunk.force();
+            }
+        } finally {
+            raw.close();
+        }
+    }
+
+    /**
+     * Render frames in pool and release scratches of batch.
+     * @param startMillis  Time of first frame in milliseconds since midnight or noon
+     * @param stepMillis  Time between frames in milliseconds
+     * @param count  Count of frames
+     * @param sink  Destination of frames
+     */
+    private void render(long startMillis, long stepMillis, int count, FrameSink sink) {
+        Queue<Scratch> scratches = new ConcurrentLinkedQueue<Scratch>();
+
+        try {
+            pool.invoke(new FrameRange(startMillis, stepMillis, 0, count, sink, scratches));
+        } finally {
+            for (Scratch scratch : scratches) {
+                scratch.dispose();
+            }
+            scratches.clear();
+        }
+    }
+
+    /**
+     * Destination of rendered frames.
+     */
+    private interface FrameSink {
+
+        /**
+         * Store rendered frame, it is called from many threads for different frames.
+         * @param index  Frame index
+         * @param pixels  Pixels of frame
+         */
+        void store(int index, int[] pixels);
+    }
+
+    /**
+     * Task rendering range of frames, which splits itself while range is big.
+     */
+    private class FrameRange extends RecursiveAction {
+
+        /** Time of first frame of batch. */
+        private final long startMillis;
+
+        /** Time between frames. */
+        private final long stepMillis;
+
+        /** First frame index, inclusive. */
+        private final int from;
+
+        /** Last frame index, exclusive. */
+        private final int to;
+
+        /** Destination of frames. */
+        private final FrameSink sink;
+
+        /** Scratches of batch, which are free for use. */
+        private final Queue<Scratch> scratches;
+
+        /**
+         * Constructor of task.
+         * @param startMillis  Time of first frame of batch
+         * @param stepMillis  Time between frames
+         * @param from  First frame index, inclusive
+         * @param to  Last frame index, exclusive
+         * @param sink  Destination of frames
+         * @param scratches  Scratches of batch, which are free for use
+         */
+        FrameRange(long startMillis, long stepMillis, int from, int to, FrameSink sink, Queue<Scratch> scratches) {
+            this.startMillis = startMillis;
+            this.stepMillis = stepMillis;
+            this.from = from;
+            this.to = to;
+            this.sink = sink;
+            this.scratches = scratches;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > THRESHOLD) {
+                // Split range in halves
+                int middle = (from + to) >>> 1;
+                invokeAll(new FrameRange(startMillis, stepMillis, from, middle, sink, scratches),
+                        new FrameRange(startMillis, stepMillis, middle, to, sink, scratches));
+                return;
+            }
+
+            // Scratch is created only if all of them are busy, so there are no more of them than running tasks
+            Scratch frame = scratches.poll();
+            if (frame == null) {
+                frame = new Scratch();
+            }
+
+            try {
+                for (int i = from; i < to; i++) {
+                    frame.render(startMillis + i * stepMillis);
+                    sink.store(i, frame.pixels);
+                }
+            } finally {
+                scratches.offer(frame);
+            }
+        }
+    }
+
+    /**
+     * Renderer, graphics and pixels buffer of single running task.
+     */
+    private class Scratch {
+
+        /** Renderer. */
+        private final ClockRenderer renderer;
+
+        /** Pixels of frame. */
+        private final int[] pixels;
+
+        /** Graphics of frame image. */
+        private final Graphics2D graphics;
+
+        /** Screen dimension the renderer is configured with. */
+        private Dimension rendererScreen;
+
+        /**
+         * Constructor of scratch, graphics is kept open till batch is done.
+         */
+        Scratch() {
+            renderer = new ClockRenderer();
+            renderer.setSize(width, height);
+
+            BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            pixels = ((DataBufferInt)image.getRaster().getDataBuffer()).getData();
+            graphics = image.createGraphics();
+        }
+
+        /**
+         * Render frame into pixels.
+         * @param timeMillis  Time in milliseconds since midnight or noon
+         */
+        void render(long timeMillis) {
+            // Fill background or clear frame
+            if (background != null) {
+                graphics.setComposite(AlphaComposite.SrcOver);
+                graphics.setColor(background);
+            } else {
+                graphics.setComposite(AlphaComposite.Clear);
+            }
+            graphics.fillRect(0, 0, width, height);
+            graphics.setComposite(AlphaComposite.SrcOver);
+
+            // Follow settings of batch renderer
+            if (screen != null && screen != rendererScreen) {
+                renderer.setScreenSize(screen);
+                rendererScreen = screen;
+            }
+            renderer.setBlack(darkClock);
+
+            renderer.setTimeMillis(timeMillis);
+            renderer.paint(graphics);
+        }
+
+        /**
+         * Release graphics of frame.
+         */
+        void dispose() {
+            graphics.dispose();
+        }
+    }
+}
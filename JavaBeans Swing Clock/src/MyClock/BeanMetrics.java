@@ -0,0 +1,72 @@
+package MyClock;
+
+import ClockCommon.ClockMetrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Metrics of clock bean: frame time and jank metrics and queues of asynchronous property events,
+ * see {@link AsyncListener}. Metrics are registered in JMX domain "MyClock".
+ */
+public class BeanMetrics extends ClockMetrics implements BeanMetricsMBean {
+
+    /** Count of property events waiting for asynchronous delivery. */
+    private final AtomicLong eventQueueDepth = new AtomicLong();
+
+    /** Count of property events replaced by newer ones before delivery. */
+    private final AtomicLong coalescedEvents = new AtomicLong();
+
+    /** Count of property events dropped because queue was full. */
+    private final AtomicLong droppedEvents = new AtomicLong();
+
+    /**
+     * Constructor of metrics.
+     */
+    public BeanMetrics() {
+        super("MyClock");
+    }
+
+    /**
+     * Record change of asynchronous property events queue.
+     * @param delta  Count of queued events, negative for delivered ones
+     */
+    public void recordEventQueue(long delta) {
+        eventQueueDepth.addAndGet(delta);
+    }
+
+    /**
+     * Record property event replaced by newer one before delivery.
+     */
+    public void recordCoalescedEvent() {
+        coalescedEvents.incrementAndGet();
+    }
+
+    /**
+     * Record property event dropped because queue was full.
+     */
+    public void recordDroppedEvent() {
+        droppedEvents.incrementAndGet();
+    }
+
+    @Override
+    public long getEventQueueDepth() {
+        return eventQueueDepth.get();
+    }
+
+    @Override
+    public long getCoalescedEvents() {
+        return coalescedEvents.get();
+    }
+
+    @Override
+    public long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        coalescedEvents.set(0);
+        droppedEvents.set(0);
+    }
+}
@@ -0,0 +1,32 @@
+package MyClock;
+
+import ClockCommon.ClockMetricsMBean;
+
+/**
+ * Management interface of clock bean metrics, frame metrics and queues of asynchronous property events.
+ */
+public interface BeanMetricsMBean extends ClockMetricsMBean {
+
+    /**
+     * Count of property events waiting for asynchronous delivery.
+     * @return  Count of events
+     */
+    long getEventQueueDepth();
+
+    /**
+     * Count of property events replaced by newer ones before asynchronous delivery.
+     * @return  Count of events
+     */
+    long getCoalescedEvents();
+
+    /**
+     * Count of property events dropped because asynchronous delivery queue was full.
+     * @return  Count of events
+     */
+    long getDroppedEvents();
+
+    /**
+     * Reset all metrics, except startup times and depth of events queue.
+     */
+    void reset();
+}
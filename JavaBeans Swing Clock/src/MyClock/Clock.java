@@ -1,30 +1,40 @@
 package MyClock;
 
+import ClockCommon.ClockMetrics;
+import ClockCommon.ClockStartup;
+import ClockCommon.TickPublisher;
+import ClockCommon.TickSubscriber;
+import ClockCommon.TimeOfDay;
+import ClockCommon.TimeSource;
+
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.beans.PropertyChangeListener;
-import java.io.InputStream;
+import java.beans.PropertyChangeListenerProxy;
+import java.io.File;
+import java.io.IOException;
 import java.io.Serializable;
-import java.util.Calendar;
-import java.util.Date;
+import java.time.ZoneId;
+import java.util.concurrent.Executor;
+import java.util.logging.Logger;
 
 /**
  * Analogue clock component, inherited from jPanel.
  */
 public class Clock extends JPanel implements Serializable {
 
-    /** Thickness of seconds arrow. */
-    private final int SECONDS_THICKNESS = 3;
-
-    /** Thickness of minutes arrow. */
-    private final int MINUTES_THICKNESS = 9;
-
-    /** Thickness of hours arrow. */
-    private final int HOUR_THICKNESS = 9;
+    /** Milliseconds in 12 hours. */
+    private static final long HALF_DAY = 12 * 60 * 60 * 1000;
 
     /** Current hours. */
     private int hours;
@@ -38,40 +48,105 @@ public class Clock extends JPanel implements Serializable {
     /** Current milliseconds. */
     private int milliseconds;
 
-    /** Calendar reference. */
-    private Calendar calendar;
+    /** Decomposition of current time. */
+    private TimeOfDay calendar;
 
     /** ActionListener reference. */
     private ActionListener taskPerformer;
 
     /** Timer reference. */
-    private Timer timer;
+    private TickScheduler timer;
+
+    /** Mode of timer. */
+    private TickMode tickMode;
+
+    /** Interval of timer in fixed rate mode. */
+    private int tickInterval;
+
+    /** Is timer paused while clock isn't showing or not. */
+    private boolean pausedWhenHidden;
 
-    /** Font of numbers. */
-    private Font font;
+    /** Window the clock is showing in. */
+    private Window window;
 
-    /** Is clock running or not. */
-    private boolean running;
+    /** Is clock running or not, read by render thread. */
+    private volatile boolean running;
 
     /** Is clock dark or not. */
     private boolean darkClock;
 
-    /** Coordinates of oval center. */
-    private Point ovalCenter;
+    /** Reusable region of arrows to repaint. */
+    private Rectangle dirty;
+
+    /** Continue clock, read by render thread. */
+    private volatile boolean currentTime;
+
+    /** Source of current time, read by render thread. */
+    private volatile TimeSource timeSource;
+
+    /** Source of time while clock continues from displayed time, anchored at first tick, read by render thread. */
+    private volatile TimeSource freeRunning;
+
+    /** Is static clock face cached or not. */
+    private boolean faceCached;
+
+    /** Directory of precomputed frame cache, clock is painted by vectors if null. */
+    private File frameCacheDirectory;
 
-    /** Oval size. */
-    private int ovalSize;
+    /** Count of arrow positions per turn in frame cache. */
+    private int handSteps;
 
-    /** Continue clock. */
-    private boolean currentTime;
+    /** Zone of current time, system default zone if null. */
+    private ZoneId zone;
+
+    /** Is static clock face shared with other clocks or not. */
+    private boolean faceShared;
+
+    /** Is clock ticked by its owner instead of own timer or not. */
+    private boolean externallyDriven;
+
+    /** Is clock waiting for font and time zone data or not. */
+    private boolean waitingForStartup;
+
+    /** Renderer of clock. */
+    private ClockRenderer renderer;
+
+    /** Metrics of paints and ticks, not recorded if null. */
+    private BeanMetrics metrics;
+
+    /** Is debug overlay with metrics painted or not. */
+    private boolean debugOverlay;
+
+    /** Debug overlay painted by Swing. */
+    private MetricsOverlay overlay;
+
+    /** Canvas painting clock on render thread, clock is painted by Swing if null. */
+    private ActiveRenderer activeRenderer;
 
     /**
-     * By default clock isn't dark and it is running.
+     * By default clock isn't dark, it is running and its face is cached.
      */
     public Clock() {
         darkClock = false;
         running = true;
         currentTime = true;
+        timeSource = TimeSource.system();
+        faceCached = true;
+        tickMode = TickMode.FIXED_RATE;
+        tickInterval = TickScheduler.DEFAULT_INTERVAL;
+        handSteps = FrameCache.DEFAULT_STEPS;
+
+        // Follow showing state of clock and its window
+        VisibilityListener visibilityListener = new VisibilityListener();
+        addHierarchyListener(visibilityListener);
+
+        // Geometry of clock is rebuilt on resize, not on every paint
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                getRenderer().setSize(getWidth(), getHeight());
+            }
+        });
     }
 
     /**
@@ -85,6 +160,8 @@ public class Clock extends JPanel implements Serializable {
 
         int oldValue = this.hours;
         this.hours = hours;
+        freeRunning = null;
+        updateActiveRendererTime();
         repaint();
 
         firePropertyChange("hours", oldValue, hours);
@@ -101,6 +178,8 @@ public class Clock extends JPanel implements Serializable {
 
         int oldValue = this.minutes;
         this.minutes = minutes;
+        freeRunning = null;
+        updateActiveRendererTime();
         repaint();
 
         firePropertyChange("minutes", oldValue, minutes);
@@ -117,6 +196,8 @@ public class Clock extends JPanel implements Serializable {
 
         int oldValue = this.seconds;
         this.seconds = seconds;
+        freeRunning = null;
+        updateActiveRendererTime();
         repaint();
 
         firePropertyChange("seconds", oldValue, seconds);
@@ -133,17 +214,62 @@ public class Clock extends JPanel implements Serializable {
 
         int oldValue = this.milliseconds;
         this.milliseconds = milliseconds;
+        freeRunning = null;
+        updateActiveRendererTime();
         repaint();
 
         firePropertyChange("milliseconds", oldValue, milliseconds);
     }
 
+    /**
+     * Time setter, validates and repaints once, fires single "time" event.
+     * Events of changed fields are fired only to listeners of those fields.
+     * @param hours  Hours
+     * @param minutes  Minutes
+     * @param seconds  Seconds
+     * @param milliseconds  Milliseconds
+     */
+    public void setTime(int hours, int minutes, int seconds, int milliseconds) {
+        if (! (0 <= hours && hours < 12)) {
+            throw new IllegalArgumentException("Hour must be from 0 to 11");
+        }
+        if (! (0 <= minutes && minutes < 60)) {
+            throw new IllegalArgumentException("Minute must be from 0 to 59");
+        }
+        if (! (0 <= seconds && seconds < 60)) {
+            throw new IllegalArgumentException("Seconde must be from 0 to 59");
+        }
+        if (! (0 <= milliseconds && milliseconds < 1000)) {
+            throw new IllegalArgumentException("Millisecond must be from 0 to 999");
+        }
+
+        updateTime(hours, minutes, seconds, milliseconds);
+        freeRunning = null;
+        repaint();
+    }
+
+    /**
+     * Time setter.
+     * @param timeMillis  Milliseconds since midnight or noon, bigger values are taken modulo 12 hours
+     */
+    public void setTimeMillis(long timeMillis) {
+        if (timeMillis < 0) {
+            throw new IllegalArgumentException("Time must not be negative");
+        }
+
+        // Milliseconds since midnight or noon
+        int time = (int)(timeMillis % HALF_DAY);
+        setTime(time / 3600000, time / 60000 % 60, time / 1000 % 60, time % 1000);
+    }
+
     /**
      * Color scheme setter.
      * @param black  Is black or not
      */
     public void setBlack(boolean black) {
         this.darkClock = black;
+        getRenderer().setBlack(black);
+        updateActiveRenderer();
         repaint();
     }
 
@@ -167,9 +293,235 @@ public class Clock extends JPanel implements Serializable {
             }
         }
 
+        // Continue from displayed time on next start
+        freeRunning = null;
+
         firePropertyChange("running", oldValue, running);
     }
 
+    /**
+     * Time source setter, clock shows time of source from now on.
+     * @param timeSource  Source of current time
+     */
+    public void setTimeSource(TimeSource timeSource) {
+        if (timeSource == null) {
+            throw new IllegalArgumentException("Time source must not be null");
+        }
+
+        TimeSource oldValue = this.timeSource;
+        this.timeSource = timeSource;
+        currentTime = true;
+
+        firePropertyChange("timeSource", oldValue, timeSource);
+    }
+
+    /**
+     * Timer mode setter.
+     * @param tickMode  Mode of timer
+     */
+    public void setTickMode(TickMode tickMode) {
+        if (tickMode == null) {
+            throw new IllegalArgumentException("Tick mode must not be null");
+        }
+
+        TickMode oldValue = this.tickMode;
+        this.tickMode = tickMode;
+
+        if (! (timer == null)) {
+            timer.setMode(tickMode);
+        }
+        updateActiveRenderer();
+
+        firePropertyChange("tickMode", oldValue, tickMode);
+    }
+
+    /**
+     * Timer interval setter, it is used in fixed rate mode.
+     * @param tickInterval  Interval in milliseconds
+     */
+    public void setTickInterval(int tickInterval) {
+        if (tickInterval < 1) {
+            throw new IllegalArgumentException("Tick interval must be positive");
+        }
+
+        int oldValue = this.tickInterval;
+        this.tickInterval = tickInterval;
+
+        if (! (timer == null)) {
+            timer.setInterval(tickInterval);
+        }
+
+        firePropertyChange("tickInterval", oldValue, tickInterval);
+    }
+
+    /**
+     * Pausing setter.
+     * @param pausedWhenHidden  Pause timer while clock isn't showing or its window is minimized
+     */
+    public void setPausedWhenHidden(boolean pausedWhenHidden) {
+        boolean oldValue = this.pausedWhenHidden;
+        this.pausedWhenHidden = pausedWhenHidden;
+        updateSuspended();
+
+        firePropertyChange("pausedWhenHidden", oldValue, pausedWhenHidden);
+    }
+
+    /**
+     * Face caching setter.
+     * @param faceCached  Paint static face from cached image or not
+     */
+    public void setFaceCached(boolean faceCached) {
+        boolean oldValue = this.faceCached;
+        this.faceCached = faceCached;
+
+        getRenderer().setFaceCached(faceCached);
+        updateActiveRenderer();
+        repaint();
+
+        firePropertyChange("faceCached", oldValue, faceCached);
+    }
+
+    /**
+     * Face sharing setter. Clocks sharing faces paint faces of same size and color scheme
+     * from single cached image.
+     * @param faceShared  Share cached face with other clocks or not
+     */
+    public void setFaceShared(boolean faceShared) {
+        boolean oldValue = this.faceShared;
+        this.faceShared = faceShared;
+
+        getRenderer().setFaceShared(faceShared);
+        updateActiveRenderer();
+        repaint();
+
+        firePropertyChange("faceShared", oldValue, faceShared);
+    }
+
+    /**
+     * Zone setter, current time is shown in this zone.
+     * @param zone  Zone
+     */
+    public void setZone(ZoneId zone) {
+        if (zone == null) {
+            throw new IllegalArgumentException("Zone must not be null");
+        }
+
+        ZoneId oldValue = this.zone;
+        this.zone = zone;
+
+        // Calendar is created in zone of clock by first tick, so zone data isn't loaded before startup
+        if (calendar != null) {
+            calendar.setZone(zone);
+        }
+        updateActiveRenderer();
+        repaint();
+
+        firePropertyChange("zone", oldValue, zone);
+    }
+
+    /**
+     * Frame cache directory setter. Precomputed sprites of face and arrows are mapped
+     * from file in this directory, the file is created on background thread after first paint
+     * and vector clock is painted until it is ready.
+     * @param frameCacheDirectory  Directory of cache files, vector painting is used if null
+     */
+    public void setFrameCacheDirectory(File frameCacheDirectory) {
+        File oldValue = this.frameCacheDirectory;
+        this.frameCacheDirectory = frameCacheDirectory;
+
+        getRenderer().setFrameCache(frameCacheDirectory, handSteps);
+        updateActiveRenderer();
+        repaint();
+
+        firePropertyChange("frameCacheDirectory", oldValue, frameCacheDirectory);
+    }
+
+    /**
+     * Hand steps setter.
+     * @param handSteps  Count of arrow positions per turn in frame cache
+     */
+    public void setHandSteps(int handSteps) {
+        if (handSteps < 1) {
+            throw new IllegalArgumentException("Count of hand steps must be positive");
+        }
+
+        int oldValue = this.handSteps;
+        this.handSteps = handSteps;
+
+        getRenderer().setFrameCache(frameCacheDirectory, handSteps);
+        updateActiveRenderer();
+        repaint();
+
+        firePropertyChange("handSteps", oldValue, handSteps);
+    }
+
+    /**
+     * Metrics setter. Paint durations, lateness of ticks, frames per second
+     * and allocation per frame are recorded to metrics.
+     * @param metrics  Metrics, null to stop recording
+     */
+    public void setMetrics(BeanMetrics metrics) {
+        BeanMetrics oldValue = this.metrics;
+        this.metrics = metrics;
+
+        if (! (timer == null)) {
+            timer.setMetrics(metrics);
+        }
+        updateActiveRenderer();
+
+        // Asynchronous listeners record their queues to metrics
+        for (PropertyChangeListener registered : getPropertyChangeListeners()) {
+            if (registered instanceof PropertyChangeListenerProxy) {
+                registered = ((PropertyChangeListenerProxy)registered).getListener();
+            }
+            if (registered instanceof AsyncListener) {
+                ((AsyncListener)registered).setMetrics(metrics);
+            }
+        }
+
+        firePropertyChange("metrics", oldValue, metrics);
+    }
+
+    /**
+     * Debug overlay setter, overlay shows metrics over clock.
+     * @param debugOverlay  Paint debug overlay or not
+     */
+    public void setDebugOverlay(boolean debugOverlay) {
+        boolean oldValue = this.debugOverlay;
+        this.debugOverlay = debugOverlay;
+        updateActiveRenderer();
+        repaint();
+
+        firePropertyChange("debugOverlay", oldValue, debugOverlay);
+    }
+
+    /**
+     * Active rendering setter. Actively rendered clock is painted by page flipping
+     * on its own render thread, paced by display refresh rate, and busy event dispatch
+     * thread doesn't stall it. Property events are still fired on event dispatch thread.
+     * @param activeRendering  Paint clock on render thread or by Swing
+     */
+    public void setActiveRendering(boolean activeRendering) {
+        boolean oldValue = isActiveRendering();
+        if (oldValue == activeRendering) {
+            return;
+        }
+
+        if (activeRendering) {
+            // Canvas covers whole clock, its render thread runs while it is displayable
+            activeRenderer = new ActiveRenderer(this);
+            updateActiveRendererTime();
+            add(activeRenderer);
+        } else {
+            remove(activeRenderer);
+            activeRenderer = null;
+        }
+        revalidate();
+        repaint();
+
+        firePropertyChange("activeRendering", oldValue, activeRendering);
+    }
+
     /**
      * Hours getter.
      * @return  Hours
@@ -202,6 +554,14 @@ public class Clock extends JPanel implements Serializable {
         return this.milliseconds;
     }
 
+    /**
+     * Time getter.
+     * @return  Milliseconds since midnight or noon
+     */
+    public long getTimeMillis() {
+        return getTimeMillis(hours, minutes, seconds, milliseconds);
+    }
+
     /**
      * Color scheme getter.
      * @return  Is clock black or not
@@ -218,6 +578,103 @@ public class Clock extends JPanel implements Serializable {
         return this.running;
     }
 
+    /**
+     * Time source getter.
+     * @return  Source of current time
+     */
+    public TimeSource getTimeSource() {
+        return this.timeSource;
+    }
+
+    /**
+     * Timer mode getter.
+     * @return  Mode of timer
+     */
+    public TickMode getTickMode() {
+        return this.tickMode;
+    }
+
+    /**
+     * Timer interval getter.
+     * @return  Interval in milliseconds
+     */
+    public int getTickInterval() {
+        return this.tickInterval;
+    }
+
+    /**
+     * Pausing getter.
+     * @return  Is timer paused while clock isn't showing or not
+     */
+    public boolean isPausedWhenHidden() {
+        return this.pausedWhenHidden;
+    }
+
+    /**
+     * Face caching getter.
+     * @return  Is static face painted from cached image or not
+     */
+    public boolean isFaceCached() {
+        return this.faceCached;
+    }
+
+    /**
+     * Face sharing getter.
+     * @return  Is static face shared with other clocks or not
+     */
+    public boolean isFaceShared() {
+        return this.faceShared;
+    }
+
+    /**
+     * Zone getter.
+     * @return  Zone of current time
+     */
+    public ZoneId getZone() {
+        // Default zone is resolved on demand, it loads time zone data
+        return this.zone == null ? ZoneId.systemDefault() : this.zone;
+    }
+
+    /**
+     * Frame cache directory getter.
+     * @return  Directory of cache files, null if vector painting is used
+     */
+    public File getFrameCacheDirectory() {
+        return this.frameCacheDirectory;
+    }
+
+    /**
+     * Hand steps getter.
+     * @return  Count of arrow positions per turn in frame cache
+     */
+    public int getHandSteps() {
+        return this.handSteps;
+    }
+
+    /**
+     * Metrics getter.
+     * @return  Metrics, null if not recorded
+     */
+    public BeanMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Debug overlay getter.
+     * @return  Is debug overlay painted or not
+     */
+    public boolean isDebugOverlay() {
+        return this.debugOverlay;
+    }
+
+    /**
+     * Active rendering getter.
+     * @return  Is clock painted on render thread or not
+     */
+    public boolean isActiveRendering() {
+        return this.activeRenderer != null;
+    }
+
     /**
      * Add property event.
      * @param propertyName  Name of property
@@ -228,11 +685,51 @@ public class Clock extends JPanel implements Serializable {
     }
 
     /**
-     * Delete property event.
+     * Add property event, which is delivered at most given count of times per second.
+     * @param propertyName  Name of property
+     * @param listener  Listener
+     * @param maxEventsPerSecond  Maximum count of events per second
+     */
+    public void addPropertyChangeListener(String propertyName, PropertyChangeListener listener,
+                                          int maxEventsPerSecond) {
+        super.addPropertyChangeListener(propertyName, new ThrottledListener(listener, maxEventsPerSecond));
+    }
+
+    /**
+     * Add property event, which is delivered on executor instead of event dispatch thread.
+     * Events waiting for delivery are coalesced, only latest value of property is delivered,
+     * so slow listener doesn't stall ticks of clock.
+     * @param propertyName  Name of property
+     * @param listener  Listener
+     * @param executor  Executor of deliveries
+     */
+    public void addPropertyChangeListener(String propertyName, PropertyChangeListener listener,
+                                          Executor executor) {
+        AsyncListener async = new AsyncListener(listener, executor, AsyncListener.DEFAULT_CAPACITY);
+        async.setMetrics(metrics);
+        super.addPropertyChangeListener(propertyName, async);
+    }
+
+    /**
+     * Delete property event, throttled, asynchronous or not.
      * @param propertyName  Name of property
      * @param listener  Listener
      */
     public void removePropertyChangeListener(String propertyName, PropertyChangeListener listener) {
+        // Find throttled or asynchronous wrapper of listener
+        for (PropertyChangeListener registered : getPropertyChangeListeners(propertyName)) {
+            if (registered instanceof ThrottledListener
+                    && ((ThrottledListener)registered).getListener() == listener) {
+                super.removePropertyChangeListener(propertyName, registered);
+                return;
+            }
+            if (registered instanceof AsyncListener
+                    && ((AsyncListener)registered).getListener() == listener) {
+                super.removePropertyChangeListener(propertyName, registered);
+                return;
+            }
+        }
+
         super.removePropertyChangeListener(propertyName, listener);
     }
 
@@ -244,31 +741,54 @@ public class Clock extends JPanel implements Serializable {
         // Parent paintComponent call
         super.paintComponent(t);
 
-        // Oval size will be 95% of panel size
-        ovalSize = (int)(Math.min(getWidth(), getHeight()) * 0.95);
-        // Calculate oval center
-        ovalCenter = new Point(getWidth(), getHeight()).transform(0.5);
+        // Clock is painted by render thread
+        if (activeRenderer != null) {
+            instanceTimer();
+            return;
+        }
+
+        // Measure only painting of clock
+        BeanMetrics metrics = this.metrics;
+        long start = 0;
+        long allocated = 0;
+        if (metrics != null) {
+            allocated = ClockMetrics.getThreadAllocatedBytes();
+            start = System.nanoTime();
+        }
 
         // Convert to Graphics2D
         Graphics2D g = (Graphics2D)t.create();
-        // Activate antialias
-        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-
-        // Draw clock face
-        drawOvalCentered(g, getColorOf("background"), 1.0);
-        // Draw hours arrow
-        drawArrow(g, getColorOf("arrow"), getTimeArgument("h"), 0.5, HOUR_THICKNESS);
-        // Draw minutes arrow
-        drawArrow(g, getColorOf("arrow"), getTimeArgument("m"), 0.7, MINUTES_THICKNESS);
-        // Draw white\black oval for minute and hour arrow
-        drawOvalCentered(g, getColorOf("circle"), 0.05);
-        // Draw red oval for second arrow
-        drawOvalCentered(g, Color.RED, 0.015);
-        // Draw seconds arrow
-        drawArrow(g, Color.RED, getTimeArgument("s"), 0.65, SECONDS_THICKNESS);
-        // Draw numbers from 1 to 12
-        drawNumbers(g, getColorOf("circle"), 0.82);
+
+        // Paint clock of panel size and current time, size is checked in case paint comes before resize event
+        ClockRenderer renderer = getRenderer();
+        renderer.setSize(getWidth(), getHeight());
+        renderer.setGraphicsConfiguration(getGraphicsConfiguration());
+        renderer.setTime(hours, minutes, seconds, milliseconds);
+        boolean ready = ClockStartup.isReady();
+        if (ready) {
+            renderer.paint(g);
+        } else {
+            // Font and time zone are still loading
+            renderer.paintPlaceholder(g);
+            waitForStartup();
+        }
+        ClockStartup.recordPaint(ready, metrics);
+
+        if (metrics != null) {
+            long end = System.nanoTime();
+            // Allocation isn't measured if JVM can't do it
+            if (allocated >= 0) {
+                allocated = ClockMetrics.getThreadAllocatedBytes() - allocated;
+            }
+            metrics.recordPaint(start, end, allocated);
+        }
+
+        if (debugOverlay) {
+            if (overlay == null) {
+                overlay = new MetricsOverlay();
+            }
+            overlay.paint(g, metrics);
+        }
 
         // Dispose graphics
         g.dispose();
@@ -278,128 +798,177 @@ public class Clock extends JPanel implements Serializable {
     }
 
     /**
-     * Get trigonometric argument of seconds, minutes and hours in radians
-     * @param type  Time type (hours, minutes, seconds)
-     * @return  Trigonometric argument in radians
+     * Get renderer of clock.
+     * @return  Renderer
      */
-    private double getTimeArgument(String type) {
-        // Add milliseconds to seconds
-        double second = (double)seconds + (double)milliseconds / 1000.0;
-        // Add seconds to minute
-        double minute = (double)minutes + second / 60.0;
-        // Add minutes to hour
-        double hour = (double)hours + minute / 60.0;
-
-        if (type.equals("s")) {
-            // Seconds argument
-            return getArgument(second, 6.0);
-        } else if (type.equals("m")) {
-            // Minutes argument
-            return getArgument(minute, 6.0);
-        } else {
-            // Hours argument
-            return getArgument(hour, 30.0);
+    ClockRenderer getRenderer() {
+        // If renderer is not instanced
+        if (renderer == null) {
+            renderer = createRenderer();
         }
+
+        return renderer;
     }
 
     /**
-     * Get color which depends on element type and color scheme
-     * @param argument  Element type
-     * @return  Color
+     * Create renderer with settings of clock.
+     * @return  New renderer
      */
-    private Color getColorOf(String argument) {
-        if (argument.equals("background") == darkClock) {
-            return Color.BLACK;
-        } else {
-            return Color.WHITE;
-        }
+    ClockRenderer createRenderer() {
+        ClockRenderer renderer = new ClockRenderer();
+        renderer.setBlack(darkClock);
+        renderer.setFaceCached(faceCached);
+        renderer.setFrameCache(frameCacheDirectory, handSteps);
+        renderer.setFaceShared(faceShared);
+
+        return renderer;
     }
 
     /**
-     * Draw numbers at face
-     * @param g  Graphics
-     * @param color  Color of number
-     * @param percentage  Percentage of face radius
+     * Create decomposition of current time in zone of clock.
+     * @return  New calendar
      */
-    private void drawNumbers(Graphics2D g, Color color, double percentage) {
-        // Set color of number
-        g.setColor(color);
-        // Set font of number
-        g.setFont(getClockFont());
+    TimeOfDay createCalendar() {
+        return zone == null ? new TimeOfDay() : new TimeOfDay(zone);
+    }
 
-        // Draw all numbers from 1 to 12
-        for (int i = 1; i <= 12; i++) {
-            // Number in string format
-            String number = Integer.toString(i);
+    /**
+     * Current time getter.
+     * @return  Does clock show time of time source or continue from displayed time
+     */
+    boolean isCurrentTime() {
+        return currentTime;
+    }
 
-            // Create string metrics object
-            StringMetrics metrics = new StringMetrics(g);
-            // Get font shift in coordinates
-            Point font = new Point(-metrics.getWidth(number) / 2.0, metrics.getHeight(number) / 3.0);
+    /**
+     * Free running time source getter.
+     * @return  Source of time while clock continues from displayed time, null before first tick
+     */
+    TimeSource getFreeRunning() {
+        return freeRunning;
+    }
 
-            // Calculate argument
-            double angle = getArgument(i, 30.0);
-            // Get coordinates of argument
-            Point level = getCoordinates(angle, ovalSize / 2.0 * percentage);
+    /**
+     * Lay out canvas of active rendering over whole clock.
+     */
+    @Override
+    public void doLayout() {
+        super.doLayout();
 
-            // Get location of number
-            Point location = ovalCenter.add(level).add(font);
+        if (activeRenderer != null) {
+            activeRenderer.setBounds(0, 0, getWidth(), getHeight());
+        }
+    }
 
-            // Draw number
-            g.drawString(number, location.getX(), location.getY());
+    /**
+     * Background setter, render thread takes background with other settings.
+     * @param bg  Background color
+     */
+    @Override
+    public void setBackground(Color bg) {
+        super.setBackground(bg);
+        updateActiveRenderer();
+    }
+
+    /**
+     * Load font and time zone data in background, then update time and repaint clock.
+     */
+    private void waitForStartup() {
+        if (waitingForStartup) {
+            return;
         }
+        waitingForStartup = true;
+
+        ClockStartup.preload(FontService.LOADER);
+        ClockStartup.whenReady(new Runnable() {
+            public void run() {
+                SwingUtilities.invokeLater(new Runnable() {
+                    public void run() {
+                        waitingForStartup = false;
+                        // Show current time at once, without waiting for tick
+                        if (currentTime && running && ! externallyDriven) {
+                            tick(timeSource.currentTimeMillis());
+                        }
+                        repaint();
+                    }
+                });
+            }
+        });
     }
 
     /**
-     * Evaluation of trigonometric coordinates.
-     * @param angle  Angle in radians
-     * @param r  Radius of circle
-     * @return  Trigonometric coordinates
+     * Get decomposition of current time in zone of clock.
+     * @return  Calendar
      */
-    private Point getCoordinates(double angle, double r) {
-        return new Point(Math.cos(angle) * r, Math.sin(angle) * r);
+    private TimeOfDay getCalendar() {
+        // If calendar is not instanced
+        if (calendar == null) {
+            // Instance calendar in zone of clock
+            calendar = createCalendar();
+        }
+
+        return calendar;
     }
 
     /**
-     * Evaluation of trigonometric argument.
-     * @param x  Time indicator
-     * @param pace  Pace of time indicator
-     * @return  Trigonometric argument
+     * Externally driven setter. Driven clock has no timer of its own,
+     * its owner calls {@link #tick(long)} and repaints it.
+     * @param externallyDriven  Is clock ticked by its owner or not
      */
-    private double getArgument(double x, double pace) {
-        return x * pace * Math.PI / 180.0 - Math.PI / 2;
+    void setExternallyDriven(boolean externallyDriven) {
+        this.externallyDriven = externallyDriven;
+
+        // Release own timer
+        if (externallyDriven && ! (timer == null)) {
+            timer.stop();
+            timer = null;
+        }
     }
 
     /**
-     * Get clock face font.
-     * @return  Clock face font
+     * Update time of clock without repainting.
+     * @param epochMillis  Current time in milliseconds since epoch, it is used if clock shows current time
      */
-    private Font getClockFont() {
-        // If font is not instanced
-        if (font == null) {
-            // Read font from resourses
-            InputStream is = getClass().getResourceAsStream("HelveticaNeue-Light.otf");
-            try {
-                // Instance font
-                font = Font.createFont(Font.TRUETYPE_FONT, is);
-            } catch (Exception e) {
-                // If error has happened instance font with system font
-                font = new Font("Helvetica Neue", Font.TRUETYPE_FONT, resizeValue(65));
+    void tick(long epochMillis) {
+        // if current time
+        if (currentTime) {
+            // Update current time
+            getCalendar().update(epochMillis);
+            // Update hours, minutes, seconds and milliseconds
+            updateTime(calendar.getHours(), calendar.getMinutes(),
+                    calendar.getSeconds(), calendar.getMilliseconds());
+        } else {
+            // Continue from displayed time by real elapsed time, not by count of ticks
+            if (freeRunning == null) {
+                freeRunning = TimeSource.scaled(getTimeMillis(), 1.0);
             }
+            // Milliseconds since midnight or noon
+            int time = (int)(freeRunning.currentTimeMillis() % HALF_DAY);
+            // update hours, minutes, seconds and milliseconds
+            updateTime(time / 3600000, time / 60000 % 60, time / 1000 % 60, time % 1000);
+        }
+    }
+
+    /**
+     * Get time, which next tick continues from, so ticks of tick mode are aligned to seconds of displayed time.
+     * @return  Milliseconds of time source, or since midnight or noon if clock continues from displayed time
+     */
+    private long getDisplayedTimeMillis() {
+        if (currentTime) {
+            return timeSource.currentTimeMillis();
         }
 
-        // Return font with maximum size 65
-        return font.deriveFont((float) resizeValue(65));
+        // Free running source starts from displayed time on first tick
+        return freeRunning == null ? getTimeMillis() : freeRunning.currentTimeMillis();
     }
 
     /**
      * Instance timer.
      */
     private void instanceTimer() {
-        // If calendar is not instanced
-        if (calendar == null) {
-            // Instance calendar
-            calendar = Calendar.getInstance();
+        // Owner ticks the clock
+        if (externallyDriven) {
+            return;
         }
 
         // If taskPerformer is not instanced
@@ -407,43 +976,36 @@ public class Clock extends JPanel implements Serializable {
             // Instance
             taskPerformer = new ActionListener() {
                 public void actionPerformed(ActionEvent evt) {
+                    // Time zone data is still loading, clock is updated when it is ready
+                    if (! ClockStartup.isReady()) {
+                        return;
+                    }
 
-                    // if current time
-                    if (currentTime) {
-                        // Update current time
-                        calendar.setTime(new Date());
-                        // Update hours
-                        setHours(calendar.get(Calendar.HOUR));
-                        // Update minutes
-                        setMinutes(calendar.get(Calendar.MINUTE));
-                        // Update seconds
-                        setSeconds(calendar.get(Calendar.SECOND));
-                        // Update milliseconds
-                        setMilliseconds(calendar.get(Calendar.MILLISECOND));
-                    } else {
-                        // one tick
-                        int step = 10;
-                        // calculate milliseconds
-                        int milliseconds = getMilliseconds() + step;
-                        // calculate seconds
-                        int seconds = getSeconds() + milliseconds / 1000;
-                        // calculate minutes
-                        int minutes = getMinutes() + seconds / 60;
-                        // calculate hours
-                        int hours = getHours() + minutes / 60;
-                        // update milliseconds
-                        setMilliseconds(milliseconds % 1000);
-                        // update seconds
-                        setSeconds(seconds % 60);
-                        // update minutes
-                        setMinutes(minutes % 60);
-                        // update hours
-                        setHours(hours % 12);
+                    // Render thread paints the clock, only time and its events are updated
+                    if (activeRenderer != null) {
+                        tick(timeSource.currentTimeMillis());
+                        return;
                     }
 
-                    // repaint clock
-                    repaint(new Rectangle(ovalCenter.getX() - ovalSize / 2, ovalCenter.getY() - ovalSize / 2,
-                            ovalSize, ovalSize));
+                    // Start region to repaint with arrows before update
+                    if (dirty == null) {
+                        dirty = new Rectangle();
+                    }
+                    dirty.setBounds(getWidth() / 2, getHeight() / 2, 0, 0);
+                    getRenderer().setTime(hours, minutes, seconds, milliseconds);
+                    getRenderer().addArrowsBounds(dirty);
+
+                    // Update time
+                    tick(timeSource.currentTimeMillis());
+
+                    // Add arrows after update and repaint only swept region once
+                    getRenderer().setTime(hours, minutes, seconds, milliseconds);
+                    getRenderer().addArrowsBounds(dirty);
+                    // Debug overlay is updated with arrows
+                    if (debugOverlay && overlay != null) {
+                        overlay.addBounds(dirty);
+                    }
+                    repaint(dirty.x, dirty.y, dirty.width, dirty.height);
                 }
             };
         }
@@ -451,7 +1013,17 @@ public class Clock extends JPanel implements Serializable {
         // If timer is not instanced
         if (timer == null) {
             // Instance timer, connect taskPerformer
-            timer = new Timer(10, taskPerformer);
+            timer = new TickScheduler(taskPerformer);
+            timer.setMode(tickMode);
+            timer.setInterval(tickInterval);
+            timer.setMetrics(metrics);
+            timer.setTimeSource(new TimeSource() {
+                @Override
+                public long currentTimeMillis() {
+                    return getDisplayedTimeMillis();
+                }
+            });
+            updateSuspended();
 
             if (isRunning()) {
                 // Start timer (by default)
@@ -461,62 +1033,138 @@ public class Clock extends JPanel implements Serializable {
     }
 
     /**
-     * Resize value for jFrame resized.
-     * @param maxValue  Max value that can be at full screen jFrame
-     * @return  Value from 1 to {@code maxValue}
+     * Pass changed settings of clock to render thread.
+     */
+    private void updateActiveRenderer() {
+        if (activeRenderer != null) {
+            activeRenderer.reconfigure();
+        }
+    }
+
+    /**
+     * Pass displayed time to render thread, so it doesn't read fields of time.
+     */
+    private void updateActiveRendererTime() {
+        if (activeRenderer != null) {
+            activeRenderer.setTimeMillis(getTimeMillis());
+        }
+    }
+
+    /**
+     * Suspend timer while clock isn't showing, if pausing is on.
+     */
+    private void updateSuspended() {
+        if (timer == null) {
+            return;
+        }
+
+        // Minimized window is still showing
+        boolean iconified = window instanceof Frame
+                && (((Frame)window).getExtendedState() & Frame.ICONIFIED) != 0;
+
+        timer.setSuspended(pausedWhenHidden && (! isShowing() || iconified));
+    }
+
+    /**
+     * Update time without repainting and fire single "time" event. Events of changed fields are fired
+     * only if listeners are registered for those fields, so listeners of all properties get one event per tick.
+     * @param hours  Hours
+     * @param minutes  Minutes
+     * @param seconds  Seconds
+     * @param milliseconds  Milliseconds
      */
-    private int resizeValue(int maxValue) {
-        // Calculate stroke
-        Dimension screen = Toolkit.getDefaultToolkit().getScreenSize();
-        // Calculate minimum of screen dimension length
-        double screenSize = Math.min(screen.getWidth(), screen.getHeight());
-        // Calculate minimum of panel dimension length
-        double panelSize = Math.min(getWidth(), getHeight());
-        // Calculate thickness
-        int thickness = (int)(panelSize / screenSize * maxValue);
+    private void updateTime(int hours, int minutes, int seconds, int milliseconds) {
+        int oldHours = this.hours;
+        int oldMinutes = this.minutes;
+        int oldSeconds = this.seconds;
+        int oldMilliseconds = this.milliseconds;
+        long oldValue = getTimeMillis();
 
-        // Minimum value of thickness must be 1
-        if (thickness < 1) {
-            thickness = 1;
+        this.hours = hours;
+        this.minutes = minutes;
+        this.seconds = seconds;
+        this.milliseconds = milliseconds;
+        updateActiveRendererTime();
+
+        // Events of fields are fired only if field has changed and has its own listeners
+        fireFieldChange("hours", oldHours, hours);
+        fireFieldChange("minutes", oldMinutes, minutes);
+        fireFieldChange("seconds", oldSeconds, seconds);
+        fireFieldChange("milliseconds", oldMilliseconds, milliseconds);
+        firePropertyChange("time", oldValue, getTimeMillis());
+    }
+
+    /**
+     * Fire event of time field, if listeners are registered for that field.
+     * @param propertyName  Name of field
+     * @param oldValue  Old value
+     * @param newValue  New value
+     */
+    private void fireFieldChange(String propertyName, int oldValue, int newValue) {
+        if (oldValue != newValue && getPropertyChangeListeners(propertyName).length > 0) {
+            firePropertyChange(propertyName, oldValue, newValue);
         }
+    }
 
-        return thickness;
+    /**
+     * Calculate milliseconds since midnight or noon.
+     * @param hours  Hours
+     * @param minutes  Minutes
+     * @param seconds  Seconds
+     * @param milliseconds  Milliseconds
+     * @return  Milliseconds since midnight or noon
+     */
+    private static long getTimeMillis(int hours, int minutes, int seconds, int milliseconds) {
+        return ((hours * 60L + minutes) * 60L + seconds) * 1000L + milliseconds;
     }
 
     /**
-     * Draw centered oval.
-     * @param g  Graphics
-     * @param color  Color of oval
-     * @param percentage  Percentage of clock face oval
+     * Listener of clock showing state and its window minimizing.
      */
-    private void drawOvalCentered(Graphics2D g, Color color, double percentage) {
-        // Calculate oval size
-        int size = (int)(ovalSize * percentage);
-        // Set white color for painting
-        g.setColor(color);
-        // Calculate location of oval
-        Point location = new Point(getWidth(), getHeight()).add(-size).transform(0.5);
-        // Fill oval, which will be the foundation of clock
-        g.fillOval(location.getX(), location.getY(), size, size);
+    private class VisibilityListener extends WindowAdapter implements HierarchyListener {
+
+        /**
+         * Follow window of clock and its showing state.
+         * @param e  Hierarchy event
+         */
+        public void hierarchyChanged(HierarchyEvent e) {
+            if ((e.getChangeFlags() & (HierarchyEvent.PARENT_CHANGED | HierarchyEvent.SHOWING_CHANGED)) == 0) {
+                return;
+            }
+
+            // Move window listener to new window
+            Window ancestor = SwingUtilities.getWindowAncestor(Clock.this);
+            if (ancestor != window) {
+                if (window != null) {
+                    window.removeWindowStateListener(this);
+                }
+                window = ancestor;
+                if (window != null) {
+                    window.addWindowStateListener(this);
+                }
+            }
+
+            updateSuspended();
+        }
+
+        /**
+         * Follow window minimizing.
+         * @param e  Window event
+         */
+        @Override
+        public void windowStateChanged(WindowEvent e) {
+            updateSuspended();
+        }
     }
 
     /**
-     * Draw arrow.
-     * @param g  Graphics
-     * @param color  Color of arrow
-     * @param arg  Trigonometric argument
-     * @param length  Percentage of radius
-     * @param strokeSize  Arrow thickness
+     * Get port of tick feed from console argument.
+     * @param arg  Argument, optionally with port after "="
+     * @return  Port
      */
-    private void drawArrow(Graphics2D g, Color color, double arg, double length, int strokeSize) {
-        // Set stroke size
-        g.setStroke(new BasicStroke(resizeValue(strokeSize)));
-        // Set stroke color
-        g.setColor(color);
-        // Calculate arrow ending coordinates
-        Point coordinates = getCoordinates(arg, ovalSize / 2.0 * length).add(ovalCenter);
-        // Draw arrow
-        g.drawLine(ovalCenter.getX(), ovalCenter.getY(), coordinates.getX(), coordinates.getY());
+    private static int getPort(String arg) {
+        int index = arg.indexOf('=');
+        return index < 0 ? TickPublisher.DEFAULT_PORT : Integer.parseInt(arg.substring(index + 1));
     }
 
     /**
@@ -524,6 +1172,9 @@ public class Clock extends JPanel implements Serializable {
      * @param args  Console arguments
      */
     public static void main(String[] args) {
+        // Load font and time zone data while window is created
+        ClockStartup.preload(FontService.LOADER);
+
         // Create JFrame
         JFrame frame = new JFrame();
 
@@ -549,19 +1200,43 @@ public class Clock extends JPanel implements Serializable {
         frame.getContentPane().add(panel);
         panel.setBackground(lightGray);
 
-        final Calendar calendar = Calendar.getInstance(); // creates a new calendar instance
-        calendar.setTime(new Date());   // assigns calendar to given date
-        int hour = calendar.get(Calendar.HOUR);
-        int minute = calendar.get(Calendar.MINUTE);
-        int second = calendar.get(Calendar.SECOND);
-        int millisecond = calendar.get(Calendar.MILLISECOND);
-        panel.setHours(hour);
-        panel.setMinutes(minute);
-        panel.setSeconds(second);
-        panel.setMilliseconds(millisecond);
+        // Current time is shown as soon as time zone data is loaded
         panel.setRunning(true);
+        panel.setPausedWhenHidden(true);
+
+        // Record metrics, show them over clock and through JMX
+        for (String arg : args) {
+            if (arg.equals("--metrics")) {
+                BeanMetrics metrics = new BeanMetrics();
+                metrics.register("Clock");
+                panel.setMetrics(metrics);
+                panel.setDebugOverlay(true);
+            }
+            // Paint clock on render thread
+            if (arg.equals("--active")) {
+                panel.setActiveRendering(true);
+            }
+            // Exit after first full paint, so class list of startup is dumped for AppCDS archive
+            if (arg.equals("--training")) {
+                ClockStartup.exitAfterFullPaint();
+            }
+            // Send time to clocks of this host, or show time received from publisher
+            try {
+                if (arg.equals("--publish") || arg.startsWith("--publish=")) {
+                    new TickPublisher(getPort(arg), TickPublisher.DEFAULT_PERIOD).start();
+                }
+                if (arg.equals("--subscribe") || arg.startsWith("--subscribe=")) {
+                    TickSubscriber subscriber = new TickSubscriber(getPort(arg));
+                    subscriber.start();
+                    panel.setTimeSource(subscriber);
+                }
+            } catch (IOException e) {
+                Logger.getLogger(Clock.class.getName()).warning("Tick feed isn't available: " + e);
+            }
+        }
 
-        frame.addMouseListener(new MouseAdapter() {
+        // Clicks on clock, canvas of active rendering passes them to clock
+        panel.addMouseListener(new MouseAdapter() {
             @Override
             public void mouseClicked(MouseEvent e) {
                 if (panel.getBackground() == Color.BLACK) {
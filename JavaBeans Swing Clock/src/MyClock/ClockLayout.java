@@ -0,0 +1,317 @@
+package MyClock;
+
+import ClockCommon.Trigonometry;
+
+import java.awt.*;
+
+/**
+ * Immutable geometry of clock of one size: center, face and hub ovals, arrows lengths,
+ * strokes, numbers anchors and font size. It is created on resize or screen change only,
+ * painting just reads it.
+ */
+public class ClockLayout {
+
+    /** Face oval. */
+    public static final int FACE = 0;
+
+    /** Central oval of minutes and hours arrows. */
+    public static final int HUB = 1;
+
+    /** Central oval of seconds arrow. */
+    public static final int SECONDS_HUB = 2;
+
+    /** Percentages of face oval of ovals. */
+    private static final double[] OVALS = {1.0, 0.05, 0.015};
+
+    /** Thicknesses of hours, minutes and seconds arrows at full screen clock. */
+    private static final int[] THICKNESSES = {9, 9, 3};
+
+    /** Lengths of hours, minutes and seconds arrows in percentage of radius. */
+    private static final double[] LENGTHS = {0.5, 0.7, 0.65};
+
+    /** Percentage of radius the numbers are placed at. */
+    private static final double NUMBERS = 0.82;
+
+    /** Font size at full screen clock. */
+    private static final int FONT_SIZE = 65;
+
+    /** Width of clock area. */
+    private final int width;
+
+    /** Height of clock area. */
+    private final int height;
+
+    /** Minimum of screen dimension length. */
+    private final double screenSize;
+
+    /** Face oval size. */
+    private final int ovalSize;
+
+    /** X-coordinate of face center. */
+    private final double centerX;
+
+    /** Y-coordinate of face center. */
+    private final double centerY;
+
+    /** X-coordinates of ovals bounds. */
+    private final int[] ovalsX = new int[OVALS.length];
+
+    /** Y-coordinates of ovals bounds. */
+    private final int[] ovalsY = new int[OVALS.length];
+
+    /** Sizes of ovals. */
+    private final int[] ovalsSize = new int[OVALS.length];
+
+    /** Radius of bounds covering central ovals. */
+    private final int hubRadius;
+
+    /** Lengths of arrows. */
+    private final double[] arrowsLength = new double[LENGTHS.length];
+
+    /** Resized thicknesses of arrows. */
+    private final int[] strokesWidth = new int[THICKNESSES.length];
+
+    /** Strokes of arrows. */
+    private final BasicStroke[] strokes = new BasicStroke[THICKNESSES.length];
+
+    /** X-coordinates of numbers positions. */
+    private final double[] numbersX = new double[12];
+
+    /** Y-coordinates of numbers positions. */
+    private final double[] numbersY = new double[12];
+
+    /** Font size of numbers. */
+    private final float fontSize;
+
+    /**
+     * Constructor of layout.
+     * @param width  Width of clock area
+     * @param height  Height of clock area
+     * @param screenSize  Minimum of screen dimension length, sizes of arrows and font are relative to it
+     */
+    public ClockLayout(int width, int height, double screenSize) {
+        if (screenSize <= 0) {
+            throw new IllegalArgumentException("Screen size must be positive");
+        }
+
+        this.width = width;
+        this.height = height;
+        this.screenSize = screenSize;
+
+        // Oval size will be 95% of area size
+        ovalSize = (int)(Math.min(width, height) * 0.95);
+        // Calculate oval center
+        centerX = width * 0.5;
+        centerY = height * 0.5;
+
+        // Ovals centered in clock area
+        for (int i = 0; i < OVALS.length; i++) {
+            ovalsSize[i] = (int)(ovalSize * OVALS[i]);
+            ovalsX[i] = (int)((width - ovalsSize[i]) * 0.5);
+            ovalsY[i] = (int)((height - ovalsSize[i]) * 0.5);
+        }
+        hubRadius = ovalsSize[HUB] / 2 + 1;
+
+        for (int i = 0; i < THICKNESSES.length; i++) {
+            arrowsLength[i] = ovalSize / 2.0 * LENGTHS[i];
+            strokesWidth[i] = resize(THICKNESSES[i]);
+            strokes[i] = new BasicStroke(strokesWidth[i]);
+        }
+
+        // Get precomputed coordinates of numbers positions
+        double r = ovalSize / 2.0 * NUMBERS;
+        for (int i = 1; i <= 12; i++) {
+            numbersX[i - 1] = centerX + Trigonometry.numberCos(i) * r;
+            numbersY[i - 1] = centerY + Trigonometry.numberSin(i) * r;
+        }
+
+        fontSize = resize(FONT_SIZE);
+    }
+
+    /**
+     * Width getter.
+     * @return  Width of clock area
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Height getter.
+     * @return  Height of clock area
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Screen size getter.
+     * @return  Minimum of screen dimension length
+     */
+    public double getScreenSize() {
+        return screenSize;
+    }
+
+    /**
+     * Face oval size getter.
+     * @return  Face oval size
+     */
+    public int getOvalSize() {
+        return ovalSize;
+    }
+
+    /**
+     * Get x-coordinate of face center in integer format.
+     * @return  X-coordinate
+     */
+    public int getCenterX() {
+        return (int)centerX;
+    }
+
+    /**
+     * Get y-coordinate of face center in integer format.
+     * @return  Y-coordinate
+     */
+    public int getCenterY() {
+        return (int)centerY;
+    }
+
+    /**
+     * Get x-coordinate of face center in double format.
+     * @return  X-coordinate
+     */
+    public double getDoubleCenterX() {
+        return centerX;
+    }
+
+    /**
+     * Get y-coordinate of face center in double format.
+     * @return  Y-coordinate
+     */
+    public double getDoubleCenterY() {
+        return centerY;
+    }
+
+    /**
+     * Get x-coordinate of oval bounds.
+     * @param oval  Oval, {@link #FACE}, {@link #HUB} or {@link #SECONDS_HUB}
+     * @return  X-coordinate
+     */
+    public int getOvalX(int oval) {
+        return ovalsX[oval];
+    }
+
+    /**
+     * Get y-coordinate of oval bounds.
+     * @param oval  Oval, {@link #FACE}, {@link #HUB} or {@link #SECONDS_HUB}
+     * @return  Y-coordinate
+     */
+    public int getOvalY(int oval) {
+        return ovalsY[oval];
+    }
+
+    /**
+     * Get size of oval.
+     * @param oval  Oval, {@link #FACE}, {@link #HUB} or {@link #SECONDS_HUB}
+     * @return  Size
+     */
+    public int getOvalSize(int oval) {
+        return ovalsSize[oval];
+    }
+
+    /**
+     * Get radius of bounds covering central ovals.
+     * @return  Radius
+     */
+    public int getHubRadius() {
+        return hubRadius;
+    }
+
+    /**
+     * Get bounds covering central ovals.
+     * @return  New rectangle
+     */
+    public Rectangle getHubBounds() {
+        return new Rectangle(getCenterX() - hubRadius, getCenterY() - hubRadius, 2 * hubRadius + 1, 2 * hubRadius + 1);
+    }
+
+    /**
+     * Get length of arrow.
+     * @param arrow  Arrow, {@link ClockRenderer#HOUR_ARROW}, {@link ClockRenderer#MINUTES_ARROW}
+     *               or {@link ClockRenderer#SECONDS_ARROW}
+     * @return  Length
+     */
+    public double getArrowLength(int arrow) {
+        return arrowsLength[arrow];
+    }
+
+    /**
+     * Get resized thickness of arrow.
+     * @param arrow  Arrow
+     * @return  Thickness
+     */
+    public int getStrokeWidth(int arrow) {
+        return strokesWidth[arrow];
+    }
+
+    /**
+     * Get stroke of arrow.
+     * @param arrow  Arrow
+     * @return  Stroke
+     */
+    public BasicStroke getStroke(int arrow) {
+        return strokes[arrow];
+    }
+
+    /**
+     * Get x-coordinate of number position.
+     * @param number  Number from 1 to 12
+     * @return  X-coordinate
+     */
+    public double getNumberX(int number) {
+        return numbersX[number - 1];
+    }
+
+    /**
+     * Get y-coordinate of number position.
+     * @param number  Number from 1 to 12
+     * @return  Y-coordinate
+     */
+    public double getNumberY(int number) {
+        return numbersY[number - 1];
+    }
+
+    /**
+     * Font size getter.
+     * @return  Font size of numbers
+     */
+    public float getFontSize() {
+        return fontSize;
+    }
+
+    /**
+     * Does layout fit clock area or not.
+     * @param width  Width of clock area
+     * @param height  Height of clock area
+     * @param screenSize  Minimum of screen dimension length
+     * @return  Does layout fit or not
+     */
+    public boolean fits(int width, int height, double screenSize) {
+        return this.width == width && this.height == height && this.screenSize == screenSize;
+    }
+
+    /**
+     * Resize value for clock area resized.
+     * @param maxValue  Max value that can be at full screen clock area
+     * @return  Value from 1 to {@code maxValue}
+     */
+    private int resize(int maxValue) {
+        // Calculate minimum of clock area dimension length
+        double panelSize = Math.min(width, height);
+        // Calculate thickness
+        int thickness = (int)(panelSize / screenSize * maxValue);
+
+        // Minimum value of thickness must be 1
+        return Math.max(thickness, 1);
+    }
+}
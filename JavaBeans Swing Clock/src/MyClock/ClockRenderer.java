@@ -0,0 +1,981 @@
+package MyClock;
+
+import ClockCommon.Trigonometry;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DirectColorModel;
+import java.awt.image.Raster;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.Hashtable;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Renderer of analogue clock, which paints clock of given size and time to any graphics.
+ * It doesn't depend on screen or panel, so clock can be rendered offscreen and headless.
+ */
+public class ClockRenderer {
+
+    /** Minimum of screen dimension length, used when there is no screen. */
+    public static final int DEFAULT_SCREEN_SIZE = 1080;
+
+    /** Hours arrow. */
+    static final int HOUR_ARROW = 0;
+
+    /** Minutes arrow. */
+    static final int MINUTES_ARROW = 1;
+
+    /** Seconds arrow. */
+    static final int SECONDS_ARROW = 2;
+
+    /** Milliseconds in 12 hours. */
+    private static final long HALF_DAY = 12 * 60 * 60 * 1000;
+
+    /** Maximum count of faces shared between renderers. */
+    private static final int SHARED_FACES_SIZE = 16;
+
+    /** Faces shared by renderers of same size, color scheme, style and configuration. */
+    private static final Map<List<Object>, BufferedImage> sharedFaces =
+            new LinkedHashMap<List<Object>, BufferedImage>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<List<Object>, BufferedImage> eldest) {
+            return size() > SHARED_FACES_SIZE;
+        }
+    };
+
+    /** Thread building frame caches off painting threads, one cache at a time. */
+    private static final ExecutorService frameCacheBuilder = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "Frame cache builder");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        }
+    });
+
+    /** Angle engine shared by all clocks. */
+    private static final Trigonometry trigonometry = new Trigonometry(Trigonometry.DEFAULT_RESOLUTION);
+
+    /** Width of clock area. */
+    private int width;
+
+    /** Height of clock area. */
+    private int height;
+
+    /** Current hours. */
+    private int hours;
+
+    /** Current minutes. */
+    private int minutes;
+
+    /** Current seconds. */
+    private int seconds;
+
+    /** Current milliseconds. */
+    private int milliseconds;
+
+    /** Is clock dark or not. */
+    private boolean darkClock;
+
+    /** Background of rendered images, transparent if null. */
+    private Color background;
+
+    /** Minimum of screen dimension length, sizes of arrows and font are relative to it, zero until resolved. */
+    private double screenSize;
+
+    /** Is screen size given explicitly or queried from screen. */
+    private boolean screenSizeSet;
+
+    /** Geometry of current size, rebuilt on resize or screen change. */
+    private ClockLayout layout;
+
+    /** Configuration to create compatible images with, may be null. */
+    private GraphicsConfiguration configuration;
+
+    /** Font of numbers derived to current size. */
+    private Font derivedFont;
+
+    /** Glyphs of numbers from 1 to 12. */
+    private GlyphVector[] numerals;
+
+    /** X-coordinates of numbers glyphs. */
+    private float[] numeralsX;
+
+    /** Y-coordinates of numbers glyphs. */
+    private float[] numeralsY;
+
+    /** Geometry the numbers were laid out for. */
+    private ClockLayout numeralsLayout;
+
+    /** Context the numbers glyphs were created with. */
+    private FontRenderContext numeralsContext;
+
+    /** Reusable point for locations calculated while painting. */
+    private final Point location;
+
+    /** Reusable point for trigonometric coordinates calculated while painting. */
+    private final Point level;
+
+    /** Is static clock face cached or not. */
+    private boolean faceCached;
+
+    /** Cached static clock face (face oval and numbers). */
+    private BufferedImage face;
+
+    /** Width the cached face was rendered for. */
+    private int faceWidth;
+
+    /** Height the cached face was rendered for. */
+    private int faceHeight;
+
+    /** Color scheme the cached face was rendered for. */
+    private boolean faceDark;
+
+    /** Is cached face shared with other renderers or not. */
+    private boolean faceShared;
+
+    /** Directory of precomputed frame caches, vector painting is used if null. */
+    private File frameCacheDirectory;
+
+    /** Count of arrow positions per turn in frame cache. */
+    private int handSteps;
+
+    /** Precomputed frames of current size, color scheme and font. */
+    private FrameCache frameCache;
+
+    /** Frame cache being built on background thread, null if none is being built. */
+    private Future<FrameCache> frameCacheBuild;
+
+    /** Key of numbers font and screen size, created on first use. */
+    private String styleKey;
+
+    /** Pixels buffer wrapped by {@link #buffer}. */
+    private int[] bufferPixels;
+
+    /** Image over caller pixels buffer. */
+    private BufferedImage buffer;
+
+    /**
+     * By default clock isn't dark, its face is cached and background is transparent.
+     */
+    public ClockRenderer() {
+        location = new Point(0, 0);
+        level = new Point(0, 0);
+        faceCached = true;
+        handSteps = FrameCache.DEFAULT_STEPS;
+    }
+
+    /**
+     * Size setter.
+     * @param width  Width of clock area
+     * @param height  Height of clock area
+     */
+    public void setSize(int width, int height) {
+        // Geometry is rebuilt only when size has changed
+        if (layout != null && this.width == width && this.height == height) {
+            return;
+        }
+
+        this.width = width;
+        this.height = height;
+        layout = null;
+        getLayout();
+    }
+
+    /**
+     * Time setter.
+     * @param hours  Hours
+     * @param minutes  Minutes
+     * @param seconds  Seconds
+     * @param milliseconds  Milliseconds
+     */
+    public void setTime(int hours, int minutes, int seconds, int milliseconds) {
+        this.hours = hours;
+        this.minutes = minutes;
+        this.seconds = seconds;
+        this.milliseconds = milliseconds;
+    }
+
+    /**
+     * Time setter.
+     * @param timeMillis  Milliseconds since midnight or noon, bigger values are taken modulo 12 hours
+     */
+    public void setTimeMillis(long timeMillis) {
+        // Milliseconds since midnight or noon
+        int time = (int)(((timeMillis % HALF_DAY) + HALF_DAY) % HALF_DAY);
+        setTime(time / 3600000, time / 60000 % 60, time / 1000 % 60, time % 1000);
+    }
+
+    /**
+     * Color scheme setter.
+     * @param black  Is black or not
+     */
+    public void setBlack(boolean black) {
+        this.darkClock = black;
+    }
+
+    /**
+     * Face caching setter.
+     * @param faceCached  Paint static face from cached image or not
+     */
+    public void setFaceCached(boolean faceCached) {
+        this.faceCached = faceCached;
+
+        if (! faceCached) {
+            // Release cached image
+            face = null;
+        }
+    }
+
+    /**
+     * Face sharing setter. Renderers sharing faces paint faces of same size, color scheme
+     * and configuration from single image, for example clocks of clock wall.
+     * @param faceShared  Share cached face with other renderers or not
+     */
+    public void setFaceShared(boolean faceShared) {
+        this.faceShared = faceShared;
+        face = null;
+    }
+
+    /**
+     * Frame cache setter. With cache clock is painted from sprites of face and arrows,
+     * precomputed once into memory mapped file, without vector rasterization. Cache is built
+     * on background thread and vector clock is painted until it is ready.
+     * @param directory  Directory of cache files, vector painting is used if null
+     * @param handSteps  Count of arrow positions per turn
+     */
+    public void setFrameCache(File directory, int handSteps) {
+        if (handSteps < 1) {
+            throw new IllegalArgumentException("Count of hand steps must be positive");
+        }
+
+        this.frameCacheDirectory = directory;
+        this.handSteps = handSteps;
+        this.frameCache = null;
+        this.frameCacheBuild = null;
+    }
+
+    /**
+     * Background setter, it is used by rendering to images.
+     * @param background  Background color, transparent if null
+     */
+    public void setBackground(Color background) {
+        this.background = background;
+    }
+
+    /**
+     * Screen size setter, sizes of arrows and font are relative to it.
+     * @param screen  Screen dimension
+     */
+    public void setScreenSize(Dimension screen) {
+        this.screenSize = Math.min(screen.getWidth(), screen.getHeight());
+        this.screenSizeSet = true;
+        // Sizes depend on screen size
+        face = null;
+        styleKey = null;
+        layout = null;
+    }
+
+    /**
+     * Graphics configuration setter, cached face is created compatible with it.
+     * @param configuration  Configuration, may be null
+     */
+    public void setGraphicsConfiguration(GraphicsConfiguration configuration) {
+        if (this.configuration != configuration) {
+            this.configuration = configuration;
+            face = null;
+
+            // Screen may have changed, query its size again
+            if (! screenSizeSet) {
+                screenSize = 0;
+                styleKey = null;
+                layout = null;
+            }
+        }
+    }
+
+    /**
+     * Width getter.
+     * @return  Width of clock area
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Height getter.
+     * @return  Height of clock area
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Paint clock.
+     * @param g  Graphics
+     */
+    public void paint(Graphics2D g) {
+        // Activate antialias
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+
+        if (frameCacheDirectory != null && paintFromFrameCache(g)) {
+            return;
+        }
+
+        if (faceCached) {
+            // Draw clock face and numbers from cache
+            g.drawImage(getFace(), 0, 0, null);
+        } else {
+            // Draw clock face
+            drawOvalCentered(g, getColorOf("background"), ClockLayout.FACE);
+            // Draw numbers from 1 to 12
+            drawNumbers(g, getColorOf("circle"));
+        }
+
+        // Draw hours arrow
+        drawArrow(g, getColorOf("arrow"), getTimeArgument("h"), HOUR_ARROW);
+        // Draw minutes arrow
+        drawArrow(g, getColorOf("arrow"), getTimeArgument("m"), MINUTES_ARROW);
+        // Draw white\black oval for minute and hour arrow
+        drawOvalCentered(g, getColorOf("circle"), ClockLayout.HUB);
+        // Draw red oval for second arrow
+        drawOvalCentered(g, Color.RED, ClockLayout.SECONDS_HUB);
+        // Draw seconds arrow
+        drawArrow(g, Color.RED, getTimeArgument("s"), SECONDS_ARROW);
+    }
+
+    /**
+     * Paint placeholder face: face oval with hour marks, without numbers and arrows.
+     * It needs no font, so it is painted while font is loading.
+     * @param g  Graphics
+     */
+    public void paintPlaceholder(Graphics2D g) {
+        // Activate antialias
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        ClockLayout layout = getLayout();
+        double radius = layout.getOvalSize() / 2.0;
+
+        // Draw clock face
+        drawOvalCentered(g, getColorOf("background"), ClockLayout.FACE);
+
+        // Draw hour marks in place of numbers
+        g.setStroke(layout.getStroke(SECONDS_ARROW));
+        g.setColor(getColorOf("circle"));
+        for (int i = 1; i <= 12; i++) {
+            level.set(Trigonometry.numberCos(i), Trigonometry.numberSin(i));
+            location.set(level).scale(radius * 0.88).translate(layout.getDoubleCenterX(), layout.getDoubleCenterY());
+            level.scale(radius * 0.78).translate(layout.getDoubleCenterX(), layout.getDoubleCenterY());
+            g.drawLine(level.getX(), level.getY(), location.getX(), location.getY());
+        }
+    }
+
+    /**
+     * Render clock of image size into image.
+     * @param image  Image
+     */
+    public void render(BufferedImage image) {
+        setSize(image.getWidth(), image.getHeight());
+
+        Graphics2D g = image.createGraphics();
+
+        // Fill background or clear image
+        if (background != null) {
+            g.setColor(background);
+            g.fillRect(0, 0, width, height);
+        } else {
+            g.setComposite(AlphaComposite.Clear);
+            g.fillRect(0, 0, width, height);
+            g.setComposite(AlphaComposite.SrcOver);
+        }
+
+        paint(g);
+        g.dispose();
+    }
+
+    /**
+     * Render clock into pixels buffer in ARGB format, row by row.
+     * @param pixels  Pixels buffer of {@code width * height} length at least
+     * @param width  Width of clock
+     * @param height  Height of clock
+     */
+    public void render(int[] pixels, int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Size must be positive, it is " + width + "x" + height);
+        }
+        if (pixels.length < (long)width * height) {
+            throw new IllegalArgumentException("Buffer is smaller than " + width + "x" + height);
+        }
+
+        // Wrap buffer into image once
+        if (buffer == null || bufferPixels != pixels || buffer.getWidth() != width || buffer.getHeight() != height) {
+            buffer = wrap(pixels, width, height);
+            bufferPixels = pixels;
+        }
+
+        render(buffer);
+    }
+
+    /**
+     * Render sequence of frames into PNG files {@code frame-00000.png}, {@code frame-00001.png}...
+     * @param directory  Directory of files
+     * @param width  Width of frames
+     * @param height  Height of frames
+     * @param startMillis  Time of first frame in milliseconds since midnight or noon
+     * @param stepMillis  Time between frames in milliseconds
+     * @param count  Count of frames
+     * @throws IOException  If file can't be written
+     */
+    public void exportFrames(File directory, int width, int height, long startMillis, long stepMillis, int count)
+            throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+
+        for (int i = 0; i < count; i++) {
+            setTimeMillis(startMillis + i * stepMillis);
+            render(image);
+            ImageIO.write(image, "png", new File(directory, String.format("frame-%05d.png", i)));
+        }
+    }
+
+    /**
+     * Render sequence of frames into stream of raw ARGB pixels, frame after frame.
+     * Pixels are big endian, each frame is written by single call, so stream needs no buffering.
+     * @param out  Stream
+     * @param width  Width of frames
+     * @param height  Height of frames
+     * @param startMillis  Time of first frame in milliseconds since midnight or noon
+     * @param stepMillis  Time between frames in milliseconds
+     * @param count  Count of frames
+     * @throws IOException  If stream can't be written
+     */
+    public void exportRawFrames(OutputStream out, int width, int height, long startMillis, long stepMillis, int count)
+            throws IOException {
+        int[] pixels = new int[width * height];
+        // Frame is converted to big endian bytes in bulk and written by one call
+        ByteBuffer bytes = ByteBuffer.allocate(pixels.length * 4);
+        IntBuffer ints = bytes.asIntBuffer();
+
+        for (int i = 0; i < count; i++) {
+            setTimeMillis(startMillis + i * stepMillis);
+            render(pixels, width, height);
+
+            ints.clear();
+            ints.put(pixels);
+            out.write(bytes.array(), 0, bytes.capacity());
+        }
+
+        out.flush();
+    }
+
+    /**
+     * Add bounds of arrows and central ovals at current time to region.
+     * @param bounds  Region
+     */
+    void addArrowsBounds(Rectangle bounds) {
+        ClockLayout layout = getLayout();
+
+        // Central oval covers ovals of minute and second arrows
+        int radius = layout.getHubRadius();
+        bounds.add(layout.getCenterX() - radius, layout.getCenterY() - radius);
+        bounds.add(layout.getCenterX() + radius + 1, layout.getCenterY() + radius + 1);
+
+        // Same arrows as painted
+        addArrowBounds(bounds, getTimeArgument("h"), HOUR_ARROW);
+        addArrowBounds(bounds, getTimeArgument("m"), MINUTES_ARROW);
+        addArrowBounds(bounds, getTimeArgument("s"), SECONDS_ARROW);
+    }
+
+    /**
+     * Wait until frame cache of current size, color scheme and font is built, so clock is painted from it.
+     * Painting doesn't wait, it paints vector clock while cache is built.
+     * @throws IOException  If cache can't be built
+     * @throws InterruptedException  If waiting is interrupted
+     */
+    public void awaitFrameCache() throws IOException, InterruptedException {
+        if (frameCacheDirectory != null) {
+            getFrameCache(true);
+        }
+    }
+
+    /**
+     * Paint clock from precomputed frame cache, start building of cache if needed.
+     * @param g  Graphics
+     * @return  Is clock painted or not
+     */
+    private boolean paintFromFrameCache(Graphics2D g) {
+        FrameCache cache;
+        try {
+            cache = getFrameCache(false);
+        } catch (Exception e) {
+            // If error has happened paint vector clock from now on
+            frameCacheDirectory = null;
+            frameCache = null;
+            return false;
+        }
+
+        // Vector clock is painted while cache is built
+        if (cache == null) {
+            return false;
+        }
+
+        cache.paint(g, getArrowStep(HOUR_ARROW), getArrowStep(MINUTES_ARROW), getArrowStep(SECONDS_ARROW));
+        return true;
+    }
+
+    /**
+     * Get frame cache of current size, color scheme and font, start its building on background thread if needed.
+     * @param wait  Wait for building or not
+     * @return  Frame cache, null while it is built
+     * @throws IOException  If cache can't be built
+     * @throws InterruptedException  If waiting is interrupted
+     */
+    private FrameCache getFrameCache(boolean wait) throws IOException, InterruptedException {
+        while (frameCache == null || ! frameCache.matches(width, height, darkClock, getStyleKey(), handSteps)) {
+            // Building of outdated cache is finished before building of current one is started
+            if (frameCacheBuild == null) {
+                final File directory = frameCacheDirectory;
+                final int steps = handSteps;
+                final ClockRenderer renderer = createFrameCacheRenderer();
+                frameCacheBuild = frameCacheBuilder.submit(new Callable<FrameCache>() {
+                    public FrameCache call() throws IOException {
+                        return FrameCache.open(directory, renderer, steps);
+                    }
+                });
+            }
+
+            if (! wait && ! frameCacheBuild.isDone()) {
+                return null;
+            }
+
+            try {
+                frameCache = frameCacheBuild.get();
+                frameCacheBuild = null;
+            } catch (ExecutionException e) {
+                frameCacheBuild = null;
+                throw new IOException("Frame cache can't be built", e.getCause());
+            }
+        }
+
+        return frameCache;
+    }
+
+    /**
+     * Create renderer of current size, color scheme and style, which builds frame cache
+     * on background thread, while this renderer paints.
+     * @return  New renderer
+     */
+    private ClockRenderer createFrameCacheRenderer() {
+        ClockRenderer renderer = new ClockRenderer();
+        renderer.darkClock = darkClock;
+        renderer.screenSize = getScreenSize();
+        renderer.screenSizeSet = true;
+        renderer.derivedFont = getClockFont();
+        renderer.styleKey = getStyleKey();
+        renderer.setSize(width, height);
+
+        return renderer;
+    }
+
+    /**
+     * Get quantized position of arrow at current time.
+     * @param arrow  Arrow
+     * @return  Position from 0 to count of hand steps
+     */
+    private int getArrowStep(int arrow) {
+        // Part of full turn from 12 o'clock
+        double turn = (getArrowArgument(arrow) + Math.PI / 2) / (2 * Math.PI);
+        return (int)Math.round(turn * handSteps) % handSteps;
+    }
+
+    /**
+     * Get trigonometric argument of arrow at current time.
+     * @param arrow  Arrow
+     * @return  Trigonometric argument in radians
+     */
+    private double getArrowArgument(int arrow) {
+        if (arrow == HOUR_ARROW) {
+            return getTimeArgument("h");
+        } else if (arrow == MINUTES_ARROW) {
+            return getTimeArgument("m");
+        } else {
+            return getTimeArgument("s");
+        }
+    }
+
+    /**
+     * Key of numbers font and screen size, frame caches of different fonts and sizes of arrows are different.
+     * @return  Style key
+     */
+    String getStyleKey() {
+        if (styleKey == null) {
+            Font clockFont = getClockFont();
+            styleKey = clockFont.getFontName().replaceAll("[^A-Za-z0-9]", "") + (int)getLayout().getScreenSize();
+        }
+
+        return styleKey;
+    }
+
+    /**
+     * Paint static face, the same as cached face.
+     * @param g  Graphics
+     */
+    void paintFace(Graphics2D g) {
+        drawOvalCentered(g, getColorOf("background"), ClockLayout.FACE);
+        drawNumbers(g, getColorOf("circle"));
+    }
+
+    /**
+     * Paint central ovals of arrows.
+     * @param g  Graphics
+     */
+    void paintHub(Graphics2D g) {
+        drawOvalCentered(g, getColorOf("circle"), ClockLayout.HUB);
+        drawOvalCentered(g, Color.RED, ClockLayout.SECONDS_HUB);
+    }
+
+    /**
+     * Get bounds of central ovals of arrows.
+     * @return  Bounds
+     */
+    Rectangle getHubBounds() {
+        return getLayout().getHubBounds();
+    }
+
+    /**
+     * Paint arrow at given argument.
+     * @param g  Graphics
+     * @param arrow  Arrow
+     * @param arg  Trigonometric argument
+     */
+    void paintArrow(Graphics2D g, int arrow, double arg) {
+        drawArrow(g, arrow == SECONDS_ARROW ? Color.RED : getColorOf("arrow"), arg, arrow);
+    }
+
+    /**
+     * Get bounds of arrow at given argument.
+     * @param arrow  Arrow
+     * @param arg  Trigonometric argument
+     * @return  Bounds
+     */
+    Rectangle getArrowBounds(int arrow, double arg) {
+        Rectangle bounds = new Rectangle(getLayout().getCenterX(), getLayout().getCenterY(), 0, 0);
+        addArrowBounds(bounds, arg, arrow);
+        return bounds;
+    }
+
+    /**
+     * Is clock dark getter.
+     * @return  Is clock dark or not
+     */
+    boolean isBlack() {
+        return darkClock;
+    }
+
+    /**
+     * Wrap pixels buffer into image without copying.
+     * @param pixels  Pixels buffer
+     * @param width  Width of image
+     * @param height  Height of image
+     * @return  Image over buffer
+     */
+    private static BufferedImage wrap(int[] pixels, int width, int height) {
+        DirectColorModel model = (DirectColorModel)ColorModel.getRGBdefault();
+        SinglePixelPackedSampleModel sampleModel = new SinglePixelPackedSampleModel(
+                DataBufferInt.TYPE_INT, width, height, model.getMasks());
+        WritableRaster raster = Raster.createWritableRaster(sampleModel, new DataBufferInt(pixels, pixels.length), null);
+
+        return new BufferedImage(model, raster, false, new Hashtable<Object, Object>());
+    }
+
+    /**
+     * Get cached static clock face, rebuild it on resize or color scheme change.
+     * @return  Image with face oval and numbers
+     */
+    private BufferedImage getFace() {
+        // Cached face is still valid
+        if (face != null && faceWidth == width && faceHeight == height && faceDark == darkClock) {
+            return face;
+        }
+
+        faceWidth = width;
+        faceHeight = height;
+        faceDark = darkClock;
+
+        if (faceShared) {
+            List<Object> key = Arrays.<Object>asList(width, height, darkClock, getStyleKey(), configuration);
+
+            synchronized (sharedFaces) {
+                face = sharedFaces.get(key);
+                // Render shared face once
+                if (face == null) {
+                    face = renderFace();
+                    sharedFaces.put(key, face);
+                }
+            }
+
+            return face;
+        }
+
+        face = renderFace();
+        return face;
+    }
+
+    /**
+     * Render static clock face of current size and color scheme.
+     * @return  Image with face oval and numbers
+     */
+    private BufferedImage renderFace() {
+        BufferedImage face;
+
+        // Prefer image compatible with screen, so it can be accelerated
+        if (configuration != null) {
+            face = configuration.createCompatibleImage(Math.max(width, 1), Math.max(height, 1),
+                    Transparency.TRANSLUCENT);
+        } else {
+            face = new BufferedImage(Math.max(width, 1), Math.max(height, 1), BufferedImage.TYPE_INT_ARGB);
+        }
+
+        // Paint static parts of clock once
+        Graphics2D g = face.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        paintFace(g);
+        g.dispose();
+
+        return face;
+    }
+
+    /**
+     * Get trigonometric argument of seconds, minutes and hours in radians
+     * @param type  Time type (hours, minutes, seconds)
+     * @return  Trigonometric argument in radians
+     */
+    private double getTimeArgument(String type) {
+        // Add milliseconds to seconds
+        double second = (double)seconds + (double)milliseconds / 1000.0;
+        // Add seconds to minute
+        double minute = (double)minutes + second / 60.0;
+        // Add minutes to hour
+        double hour = (double)hours + minute / 60.0;
+
+        if (type.equals("s")) {
+            // Seconds argument
+            return getArgument(second, 6.0);
+        } else if (type.equals("m")) {
+            // Minutes argument
+            return getArgument(minute, 6.0);
+        } else {
+            // Hours argument
+            return getArgument(hour, 30.0);
+        }
+    }
+
+    /**
+     * Get color which depends on element type and color scheme
+     * @param argument  Element type
+     * @return  Color
+     */
+    private Color getColorOf(String argument) {
+        if (argument.equals("background") == darkClock) {
+            return Color.BLACK;
+        } else {
+            return Color.WHITE;
+        }
+    }
+
+    /**
+     * Draw numbers at face
+     * @param g  Graphics
+     * @param color  Color of number
+     */
+    private void drawNumbers(Graphics2D g, Color color) {
+        // Set color of number
+        g.setColor(color);
+
+        // Lay out numbers once per size
+        layoutNumbers(g);
+
+        // Draw all numbers from 1 to 12
+        for (int i = 0; i < 12; i++) {
+            g.drawGlyphVector(numerals[i], numeralsX[i], numeralsY[i]);
+        }
+    }
+
+    /**
+     * Calculate glyphs and locations of numbers, if geometry or context has changed.
+     * @param g  Graphics
+     */
+    private void layoutNumbers(Graphics2D g) {
+        FontRenderContext context = g.getFontRenderContext();
+        ClockLayout layout = getLayout();
+
+        // Layout is still valid
+        if (numerals != null && numeralsLayout == layout && context.equals(numeralsContext)) {
+            return;
+        }
+
+        Font clockFont = getClockFont();
+        numerals = new GlyphVector[12];
+        numeralsX = new float[12];
+        numeralsY = new float[12];
+
+        for (int i = 1; i <= 12; i++) {
+            // Number in string format
+            String number = Integer.toString(i);
+
+            // Get memoized bounds of number
+            Rectangle2D bounds = StringMetrics.getSharedBounds(clockFont, number, context);
+
+            // Get location of number, shifted by font size
+            numerals[i - 1] = clockFont.createGlyphVector(context, number);
+            numeralsX[i - 1] = (int)(layout.getNumberX(i) - bounds.getWidth() / 2.0);
+            numeralsY[i - 1] = (int)(layout.getNumberY(i) + bounds.getHeight() / 3.0);
+        }
+
+        numeralsLayout = layout;
+        numeralsContext = context;
+    }
+
+    /**
+     * Evaluation of trigonometric coordinates.
+     * @param angle  Angle in radians
+     * @param r  Radius of circle
+     * @param result  Point to store coordinates in
+     * @return  Trigonometric coordinates
+     */
+    private Point getCoordinates(double angle, double r, Point result) {
+        return result.set(trigonometry.cos(angle) * r, trigonometry.sin(angle) * r);
+    }
+
+    /**
+     * Evaluation of trigonometric argument.
+     * @param x  Time indicator
+     * @param pace  Pace of time indicator
+     * @return  Trigonometric argument
+     */
+    private double getArgument(double x, double pace) {
+        return Trigonometry.getArgument(x, pace);
+    }
+
+    /**
+     * Get clock face font.
+     * @return  Clock face font
+     */
+    private Font getClockFont() {
+        // Take shared font with maximum size 65 only when size has changed
+        float size = getLayout().getFontSize();
+        if (derivedFont == null || derivedFont.getSize2D() != size) {
+            derivedFont = FontService.getFont(size);
+        }
+
+        return derivedFont;
+    }
+
+    /**
+     * Get geometry of current size, it is built once per size and screen.
+     * @return  Layout
+     */
+    ClockLayout getLayout() {
+        if (layout == null) {
+            layout = new ClockLayout(width, height, getScreenSize());
+        }
+
+        return layout;
+    }
+
+    /**
+     * Get minimum of screen dimension length, screen is queried once.
+     * @return  Screen size
+     */
+    private double getScreenSize() {
+        // Query screen size once, it allocates new dimension on every call
+        if (screenSize == 0) {
+            if (GraphicsEnvironment.isHeadless()) {
+                // There is no screen, use default one
+                screenSize = DEFAULT_SCREEN_SIZE;
+            } else {
+                Dimension screen = Toolkit.getDefaultToolkit().getScreenSize();
+                // Calculate minimum of screen dimension length
+                screenSize = Math.min(screen.getWidth(), screen.getHeight());
+            }
+        }
+
+        return screenSize;
+    }
+
+    /**
+     * Add bounds of arrow, inflated by stroke width, to region.
+     * @param bounds  Region
+     * @param arg  Trigonometric argument
+     * @param arrow  Arrow
+     */
+    private void addArrowBounds(Rectangle bounds, double arg, int arrow) {
+        ClockLayout layout = getLayout();
+        // Half of stroke and antialiasing pixel
+        int inset = layout.getStrokeWidth(arrow) / 2 + 2;
+        // Calculate arrow ending coordinates
+        getCoordinates(arg, layout.getArrowLength(arrow), level)
+                .translate(layout.getDoubleCenterX(), layout.getDoubleCenterY());
+
+        bounds.add(layout.getCenterX() - inset, layout.getCenterY() - inset);
+        bounds.add(layout.getCenterX() + inset, layout.getCenterY() + inset);
+        bounds.add(level.getX() - inset, level.getY() - inset);
+        bounds.add(level.getX() + inset, level.getY() + inset);
+    }
+
+    /**
+     * Draw centered oval.
+     * @param g  Graphics
+     * @param color  Color of oval
+     * @param oval  Oval, {@link ClockLayout#FACE}, {@link ClockLayout#HUB} or {@link ClockLayout#SECONDS_HUB}
+     */
+    private void drawOvalCentered(Graphics2D g, Color color, int oval) {
+        ClockLayout layout = getLayout();
+        // Set white color for painting
+        g.setColor(color);
+        // Fill oval, which will be the foundation of clock
+        g.fillOval(layout.getOvalX(oval), layout.getOvalY(oval), layout.getOvalSize(oval), layout.getOvalSize(oval));
+    }
+
+    /**
+     * Draw arrow.
+     * @param g  Graphics
+     * @param color  Color of arrow
+     * @param arg  Trigonometric argument
+     * @param arrow  Arrow
+     */
+    private void drawArrow(Graphics2D g, Color color, double arg, int arrow) {
+        ClockLayout layout = getLayout();
+        // Set stroke size
+        g.setStroke(layout.getStroke(arrow));
+        // Set stroke color
+        g.setColor(color);
+        // Calculate arrow ending coordinates
+        getCoordinates(arg, layout.getArrowLength(arrow), location)
+                .translate(layout.getDoubleCenterX(), layout.getDoubleCenterY());
+        // Draw arrow
+        g.drawLine(layout.getCenterX(), layout.getCenterY(), location.getX(), location.getY());
+    }
+}
@@ -0,0 +1,317 @@
+package MyClock;
+
+import ClockCommon.ClockStartup;
+import ClockCommon.TimeSource;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wall of clocks showing current time in different zones. All clocks are driven
+ * by single timer from single time read, clocks of same size share one cached face,
+ * and all of them are repainted in one pass.
+ */
+public class ClockWall extends JPanel {
+
+    /** Default interval of ticks in milliseconds, about 60 frames per second. */
+    public static final int DEFAULT_INTERVAL = 16;
+
+    /** Clocks of wall. */
+    private final List<Clock> clocks;
+
+    /** Timer shared by all clocks. */
+    private final TickScheduler timer;
+
+    /** Source of current time. */
+    private TimeSource timeSource;
+
+    /** Is color scheme of clocks dark or not. */
+    private boolean darkClock;
+
+    /** Is wall running or not. */
+    private boolean running;
+
+    /** Is wall waiting for font and time zone data or not. */
+    private boolean waitingForStartup;
+
+    /**
+     * Constructor of wall with given count of columns.
+     * @param columns  Count of clocks in row
+     */
+    public ClockWall(int columns) {
+        super(createLayout(columns));
+
+        clocks = new ArrayList<Clock>();
+        timeSource = TimeSource.system();
+        running = true;
+
+        timer = new TickScheduler(new ActionListener() {
+            public void actionPerformed(ActionEvent evt) {
+                tick();
+            }
+        });
+        timer.setInterval(DEFAULT_INTERVAL);
+    }
+
+    /**
+     * Add clock showing current time in zone.
+     * @param zone  Zone
+     * @return  Added clock
+     */
+    public Clock addClock(ZoneId zone) {
+        Clock clock = new Clock();
+        clock.setExternallyDriven(true);
+        clock.setFaceShared(true);
+        clock.setBlack(darkClock);
+        clock.setZone(zone);
+        if (ClockStartup.isReady()) {
+            clock.tick(timeSource.currentTimeMillis());
+        } else {
+            // Time zone data is still loading, clock is updated when it is ready
+            waitForStartup();
+        }
+
+        clocks.add(clock);
+        add(clock);
+        revalidate();
+
+        return clock;
+    }
+
+    /**
+     * Remove clock from wall.
+     * @param clock  Clock
+     */
+    public void removeClock(Clock clock) {
+        if (clocks.remove(clock)) {
+            remove(clock);
+            clock.setExternallyDriven(false);
+            revalidate();
+            repaint();
+        }
+    }
+
+    /**
+     * Clocks getter.
+     * @return  Clocks of wall
+     */
+    public List<Clock> getClocks() {
+        return new ArrayList<Clock>(clocks);
+    }
+
+    /**
+     * Time source setter.
+     * @param timeSource  Source of current time of all clocks
+     */
+    public void setTimeSource(TimeSource timeSource) {
+        if (timeSource == null) {
+            throw new IllegalArgumentException("Time source must not be null");
+        }
+
+        TimeSource oldValue = this.timeSource;
+        this.timeSource = timeSource;
+        timer.setTimeSource(timeSource);
+
+        firePropertyChange("timeSource", oldValue, timeSource);
+    }
+
+    /**
+     * Color scheme setter.
+     * @param black  Are clocks black or not
+     */
+    public void setBlack(boolean black) {
+        this.darkClock = black;
+
+        for (Clock clock : clocks) {
+            clock.setBlack(black);
+        }
+    }
+
+    /**
+     * Running setter.
+     * @param running  Is wall running or not
+     */
+    public void setRunning(boolean running) {
+        boolean oldValue = this.running;
+        this.running = running;
+        updateTimer();
+
+        firePropertyChange("running", oldValue, running);
+    }
+
+    /**
+     * Timer mode setter.
+     * @param tickMode  Mode of timer
+     */
+    public void setTickMode(TickMode tickMode) {
+        timer.setMode(tickMode);
+    }
+
+    /**
+     * Timer interval setter, it is used in fixed rate mode.
+     * @param tickInterval  Interval in milliseconds
+     */
+    public void setTickInterval(int tickInterval) {
+        timer.setInterval(tickInterval);
+    }
+
+    /**
+     * Time source getter.
+     * @return  Source of current time of all clocks
+     */
+    public TimeSource getTimeSource() {
+        return this.timeSource;
+    }
+
+    /**
+     * Color scheme getter.
+     * @return  Are clocks black or not
+     */
+    public boolean isBlack() {
+        return this.darkClock;
+    }
+
+    /**
+     * Running getter.
+     * @return  Is wall running or not
+     */
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    /**
+     * Timer mode getter.
+     * @return  Mode of timer
+     */
+    public TickMode getTickMode() {
+        return timer.getMode();
+    }
+
+    /**
+     * Timer interval getter.
+     * @return  Interval in milliseconds
+     */
+    public int getTickInterval() {
+        return timer.getInterval();
+    }
+
+    /**
+     * Start timer when wall is shown in window.
+     */
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        updateTimer();
+    }
+
+    /**
+     * Stop timer when wall is removed from window.
+     */
+    @Override
+    public void removeNotify() {
+        super.removeNotify();
+        updateTimer();
+    }
+
+    /**
+     * Run timer only while wall is running and displayable.
+     */
+    private void updateTimer() {
+        if (running && isDisplayable()) {
+            if (! timer.isRunning()) {
+                timer.start();
+            }
+        } else if (timer.isRunning()) {
+            timer.stop();
+        }
+    }
+
+    /**
+     * Load font and time zone data in background, then update all clocks and repaint them.
+     */
+    private void waitForStartup() {
+        if (waitingForStartup) {
+            return;
+        }
+        waitingForStartup = true;
+
+        ClockStartup.preload(FontService.LOADER);
+        ClockStartup.whenReady(new Runnable() {
+            public void run() {
+                SwingUtilities.invokeLater(new Runnable() {
+                    public void run() {
+                        waitingForStartup = false;
+                        // Show current time at once, without waiting for tick
+                        long now = timeSource.currentTimeMillis();
+                        for (int i = 0; i < clocks.size(); i++) {
+                            clocks.get(i).tick(now);
+                        }
+                        repaint();
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Update all clocks from single time read and repaint them at once.
+     */
+    private void tick() {
+        // Time zone data is still loading, clocks are updated when it is ready
+        if (! ClockStartup.isReady()) {
+            return;
+        }
+
+        long now = timeSource.currentTimeMillis();
+
+        for (int i = 0; i < clocks.size(); i++) {
+            Clock clock = clocks.get(i);
+            if (clock.isRunning()) {
+                clock.tick(now);
+            }
+        }
+
+        // Single repaint of wall covers all clocks
+        repaint();
+    }
+
+    /**
+     * Create grid layout of wall.
+     * @param columns  Count of clocks in row
+     * @return  Layout
+     */
+    private static GridLayout createLayout(int columns) {
+        if (columns < 1) {
+            throw new IllegalArgumentException("Count of columns must be positive");
+        }
+
+        return new GridLayout(0, columns);
+    }
+
+    /**
+     * Method main, shows wall of clocks of all zones given as arguments.
+     * @param args  Zone identifiers, for example Europe/Moscow
+     */
+    public static void main(String[] args) {
+        final ClockWall wall = new ClockWall(Math.max(1, (int)Math.ceil(Math.sqrt(Math.max(args.length, 1)))));
+
+        if (args.length == 0) {
+            wall.addClock(ZoneId.systemDefault());
+        }
+        for (String zone : args) {
+            wall.addClock(ZoneId.of(zone));
+        }
+
+        JFrame frame = new JFrame();
+        frame.setTitle("Clock wall");
+        frame.setSize(800, 800);
+        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        frame.getContentPane().add(wall);
+        frame.setVisible(true);
+    }
+}
@@ -0,0 +1,117 @@
+package MyClock;
+
+import java.awt.*;
+import java.io.File;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Font of clock numbers shared by whole process. Font file is parsed once per JVM,
+ * directly from file when resource is a file, fonts of derived sizes are cached.
+ */
+public class FontService {
+
+    /** Resource of font, relative to this class. */
+    private static final String RESOURCE = "HelveticaNeue-Light.otf";
+
+    /** Family of system font used if resource can't be read. */
+    private static final String FALLBACK_FAMILY = "Helvetica Neue";
+
+    /** Maximum count of cached derived fonts. */
+    private static final int CACHE_SIZE = 64;
+
+    /** Derived fonts by size, least recently used are evicted. */
+    private static final Map<Float, Font> derived = new LinkedHashMap<Float, Font>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Float, Font> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    /** Task loading font, it is run by preloading of startup. */
+    static final Runnable LOADER = new Runnable() {
+        public void run() {
+            getFont();
+        }
+    };
+
+    /**
+     * Font service has static methods only.
+     */
+    private FontService() {
+    }
+
+    /**
+     * Get base font of clock, parsed on first call.
+     * @return  Font of size 1 or system font if resource can't be read
+     */
+    public static Font getFont() {
+        return Holder.FONT;
+    }
+
+    /**
+     * Get font of clock derived to size.
+     * @param size  Size of font
+     * @return  Font
+     */
+    public static Font getFont(float size) {
+        synchronized (derived) {
+            Font font = derived.get(size);
+
+            // Derive font once per size
+            if (font == null) {
+                font = Holder.FONT.deriveFont(size);
+                derived.put(size, font);
+            }
+
+            return font;
+        }
+    }
+
+    /**
+     * Is font read from resource or system font is used.
+     * @return  Is font read from resource or not
+     */
+    public static boolean isLoaded() {
+        return ! FALLBACK_FAMILY.equals(Holder.FONT.getName());
+    }
+
+    /**
+     * Read font from resource.
+     * @return  Font or system font if resource can't be read
+     */
+    private static Font load() {
+        URL url = FontService.class.getResource(RESOURCE);
+
+        try {
+            if (url != null && "file".equals(url.getProtocol())) {
+                // Font is read by file directly, without copying stream into temporary file
+                return Font.createFont(Font.TRUETYPE_FONT, new File(url.toURI()));
+            }
+
+            if (url != null) {
+                InputStream is = url.openStream();
+                try {
+                    return Font.createFont(Font.TRUETYPE_FONT, is);
+                } finally {
+                    is.close();
+                }
+            }
+        } catch (Exception e) {
+            // If error has happened use system font
+        }
+
+        return new Font(FALLBACK_FAMILY, Font.PLAIN, 1);
+    }
+
+    /**
+     * Holder of base font, it is loaded once by thread safe class initialization.
+     */
+    private static class Holder {
+
+        /** Base font. */
+        static final Font FONT = load();
+    }
+}
@@ -0,0 +1,317 @@
+package MyClock;
+
+import ClockCommon.Trigonometry;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Precomputed frames of clock, stored in memory mapped file. File keeps sprites of face,
+ * central ovals and every quantized position of every arrow, so clock is painted
+ * by drawing images only. Files are versioned and keyed by size, color scheme, font, screen size and count of steps.
+ *
+ * File consists of ints: magic, version, width, height, dark, hash of style key, steps, count of layers,
+ * then x, y, width, height and offset in ints of every layer, then ARGB pixels of layers.
+ * Layers are face, central ovals, then positions of hours, minutes and seconds arrows.
+ */
+public class FrameCache {
+
+    /** Default count of arrow positions per turn. */
+    public static final int DEFAULT_STEPS = 240;
+
+    /** Version of file format. */
+    public static final int VERSION = 2;
+
+    /** First int of file. */
+    private static final int MAGIC = 0x4D434643;
+
+    /** Count of ints in header before layers table. */
+    private static final int HEADER = 8;
+
+    /** Count of ints per layer in layers table. */
+    private static final int LAYER = 5;
+
+    /** Face layer. */
+    private static final int FACE = 0;
+
+    /** Central ovals layer. */
+    private static final int HUB = 1;
+
+    /** Width of frame. */
+    private final int width;
+
+    /** Height of frame. */
+    private final int height;
+
+    /** Is clock dark or not. */
+    private final boolean darkClock;
+
+    /** Key of numbers font and screen size. */
+    private final String styleKey;
+
+    /** Count of arrow positions per turn. */
+    private final int steps;
+
+    /** Mapped file content. */
+    private final IntBuffer content;
+
+    /** Decoded layers, decoded on first use. */
+    private final BufferedImage[] layers;
+
+    /** Locations of layers. */
+    private final int[] layersX;
+
+    /** Locations of layers. */
+    private final int[] layersY;
+
+    /**
+     * Constructor of cache over mapped file.
+     * @param renderer  Renderer of size, color scheme and font of cache
+     * @param steps  Count of arrow positions per turn
+     * @param content  Mapped file content
+     */
+    private FrameCache(ClockRenderer renderer, int steps, IntBuffer content) {
+        this.width = renderer.getWidth();
+        this.height = renderer.getHeight();
+        this.darkClock = renderer.isBlack();
+        this.styleKey = renderer.getStyleKey();
+        this.steps = steps;
+        this.content = content;
+
+        int count = content.get(HEADER - 1);
+        this.layers = new BufferedImage[count];
+        this.layersX = new int[count];
+        this.layersY = new int[count];
+
+        for (int i = 0; i < count; i++) {
+            layersX[i] = content.get(HEADER + i * LAYER);
+            layersY[i] = content.get(HEADER + i * LAYER + 1);
+        }
+    }
+
+    /**
+     * Open cache of renderer size, color scheme and font, create cache file if it doesn't exist.
+     * @param directory  Directory of cache files
+     * @param renderer  Renderer
+     * @param steps  Count of arrow positions per turn
+     * @return  Frame cache
+     * @throws IOException  If file can't be read or written
+     */
+    public static FrameCache open(File directory, ClockRenderer renderer, int steps) throws IOException {
+        File file = new File(directory, String.format("clock-v%d-%dx%d-%s-%s-%d.frames", VERSION,
+                renderer.getWidth(), renderer.getHeight(), renderer.isBlack() ? "dark" : "light",
+                renderer.getStyleKey(), steps));
+
+        if (! isValid(file, renderer, steps)) {
+            // Write into temporary file, so other processes never map half written cache
+            if (! directory.isDirectory() && ! directory.mkdirs()) {
+                throw new IOException("Can't create directory " + directory);
+            }
+            File temporary = File.createTempFile("clock", ".frames", directory);
+            boolean renamed = false;
+            try {
+                write(temporary, renderer, steps);
+                if (! temporary.renameTo(file)) {
+                    file.delete();
+                    if (! temporary.renameTo(file)) {
+                        throw new IOException("Can't create " + file);
+                    }
+                }
+                renamed = true;
+            } finally {
+                // Failed writing leaves no temporary files behind
+                if (! renamed) {
+                    temporary.delete();
+                }
+            }
+        }
+
+        RandomAccessFile raw = new RandomAccessFile(file, "r");
+        try {
+            MappedByteBuffer mapped = raw.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, raw.length());
+            return new FrameCache(renderer, steps, mapped.asIntBuffer());
+        } finally {
+            raw.close();
+        }
+    }
+
+    /**
+     * Does cache match parameters of renderer or not.
+     * @param width  Width of frame
+     * @param height  Height of frame
+     * @param darkClock  Is clock dark or not
+     * @param styleKey  Key of numbers font and screen size
+     * @param steps  Count of arrow positions per turn
+     * @return  Does cache match or not
+     */
+    public boolean matches(int width, int height, boolean darkClock, String styleKey, int steps) {
+        return this.width == width && this.height == height && this.darkClock == darkClock
+                && this.styleKey.equals(styleKey) && this.steps == steps;
+    }
+
+    /**
+     * Paint clock from layers.
+     * @param g  Graphics
+     * @param hours  Quantized position of hours arrow
+     * @param minutes  Quantized position of minutes arrow
+     * @param seconds  Quantized position of seconds arrow
+     */
+    public void paint(Graphics2D g, int hours, int minutes, int seconds) {
+        drawLayer(g, FACE);
+        drawLayer(g, 2 + ClockRenderer.HOUR_ARROW * steps + hours);
+        drawLayer(g, 2 + ClockRenderer.MINUTES_ARROW * steps + minutes);
+        drawLayer(g, HUB);
+        drawLayer(g, 2 + ClockRenderer.SECONDS_ARROW * steps + seconds);
+    }
+
+    /**
+     * Draw layer, decode it on first use.
+     * @param g  Graphics
+     * @param layer  Index of layer
+     */
+    private void drawLayer(Graphics2D g, int layer) {
+        if (layers[layer] == null) {
+            int entry = HEADER + layer * LAYER;
+            int layerWidth = content.get(entry + 2);
+            int layerHeight = content.get(entry + 3);
+            BufferedImage image = new BufferedImage(Math.max(layerWidth, 1), Math.max(layerHeight, 1),
+                    BufferedImage.TYPE_INT_ARGB);
+
+            IntBuffer pixels = content.duplicate();
+            pixels.position(content.get(entry + 4));
+            pixels.get(((DataBufferInt)image.getRaster().getDataBuffer()).getData(), 0, layerWidth * layerHeight);
+            layers[layer] = image;
+        }
+
+        g.drawImage(layers[layer], layersX[layer], layersY[layer], null);
+    }
+
+    /**
+     * Check header of existing cache file.
+     * @param file  Cache file
+     * @param renderer  Renderer
+     * @param steps  Count of arrow positions per turn
+     * @return  Is file valid or not
+     * @throws IOException  If file can't be read
+     */
+    private static boolean isValid(File file, ClockRenderer renderer, int steps) throws IOException {
+        if (! file.isFile() || file.length() < HEADER * 4) {
+            return false;
+        }
+
+        RandomAccessFile raw = new RandomAccessFile(file, "r");
+        try {
+            return raw.readInt() == MAGIC && raw.readInt() == VERSION
+                    && raw.readInt() == renderer.getWidth() && raw.readInt() == renderer.getHeight()
+                    && raw.readInt() == (renderer.isBlack() ? 1 : 0)
+                    && raw.readInt() == renderer.getStyleKey().hashCode() && raw.readInt() == steps
+                    && raw.readInt() == 2 + 3 * steps;
+        } finally {
+            raw.close();
+        }
+    }
+
+    /**
+     * Render all layers into cache file.
+     * @param file  Cache file
+     * @param renderer  Renderer
+     * @param steps  Count of arrow positions per turn
+     * @throws IOException  If file can't be written
+     */
+    private static void write(File file, ClockRenderer renderer, int steps) throws IOException {
+        int count = 2 + 3 * steps;
+        Rectangle[] bounds = new Rectangle[count];
+
+        // Calculate bounds of all layers first, so file size is known
+        bounds[FACE] = new Rectangle(0, 0, renderer.getWidth(), renderer.getHeight());
+        bounds[HUB] = renderer.getHubBounds();
+        for (int arrow = 0; arrow < 3; arrow++) {
+            for (int step = 0; step < steps; step++) {
+                bounds[2 + arrow * steps + step] = renderer.getArrowBounds(arrow, getArgument(step, steps));
+            }
+        }
+
+        long size = HEADER + (long)count * LAYER;
+        for (Rectangle layer : bounds) {
+            size += (long)layer.width * layer.height;
+        }
+        if (size * 4 > Integer.MAX_VALUE) {
+            throw new IOException("Frame cache is too big, use fewer steps");
+        }
+
+        RandomAccessFile raw = new RandomAccessFile(file, "rw");
+        try {
+            raw.setLength(size * 4);
+            MappedByteBuffer mapped = raw.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size * 4);
+            IntBuffer content = mapped.asIntBuffer();
+
+            content.put(MAGIC).put(VERSION).put(renderer.getWidth()).put(renderer.getHeight())
+                    .put(renderer.isBlack() ? 1 : 0).put(renderer.getStyleKey().hashCode()).put(steps).put(count);
+
+            // Layers table
+            int offset = HEADER + count * LAYER;
+            for (Rectangle layer : bounds) {
+                content.put(layer.x).put(layer.y).put(layer.width).put(layer.height).put(offset);
+                offset += layer.width * layer.height;
+            }
+
+            // Pixels of layers
+            for (int i = 0; i < count; i++) {
+                content.put(renderLayer(renderer, i, bounds[i], steps));
+            }
+
+            mapped.force();
+        } finally {
+            raw.close();
+        }
+    }
+
+    /**
+     * Render single layer.
+     * @param renderer  Renderer
+     * @param layer  Index of layer
+     * @param bounds  Bounds of layer
+     * @param steps  Count of arrow positions per turn
+     * @return  ARGB pixels of layer
+     */
+    private static int[] renderLayer(ClockRenderer renderer, int layer, Rectangle bounds, int steps) {
+        BufferedImage image = new BufferedImage(Math.max(bounds.width, 1), Math.max(bounds.height, 1),
+                BufferedImage.TYPE_INT_ARGB);
+
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.translate(-bounds.x, -bounds.y);
+
+        if (layer == FACE) {
+            renderer.paintFace(g);
+        } else if (layer == HUB) {
+            renderer.paintHub(g);
+        } else {
+            int arrow = (layer - 2) / steps;
+            renderer.paintArrow(g, arrow, getArgument((layer - 2) % steps, steps));
+        }
+        g.dispose();
+
+        int[] pixels = new int[bounds.width * bounds.height];
+        image.getRGB(0, 0, bounds.width, bounds.height, pixels, 0, bounds.width);
+        return pixels;
+    }
+
+    /**
+     * Trigonometric argument of quantized arrow position.
+     * @param step  Position
+     * @param steps  Count of positions per turn
+     * @return  Trigonometric argument in radians
+     */
+    private static double getArgument(int step, int steps) {
+        return Trigonometry.getArgument(step, 360.0 / steps);
+    }
+}
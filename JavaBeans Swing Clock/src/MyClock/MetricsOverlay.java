@@ -0,0 +1,68 @@
+package MyClock;
+
+import ClockCommon.ClockMetrics;
+
+import java.awt.*;
+
+/**
+ * Debug overlay with metrics in top left corner of clock. Overlay keeps bounds painted last time,
+ * so every painting thread has its own overlay.
+ */
+public class MetricsOverlay {
+
+    /** Region of overlay painted last time, empty before first paint. */
+    private final Rectangle bounds = new Rectangle();
+
+    /**
+     * Paint overlay.
+     * @param g  Graphics
+     * @param metrics  Metrics, may be null
+     */
+    public void paint(Graphics2D g, ClockMetrics metrics) {
+        String[] lines;
+        if (metrics == null) {
+            lines = new String[] {"No metrics"};
+        } else {
+            lines = new String[] {
+                String.format("%.1f fps, %d frames", metrics.getFramesPerSecond(), metrics.getFrameCount()),
+                String.format("paint p50 %.2f ms, p99 %.2f ms, max %.2f ms", metrics.getPaint50thPercentileMillis(),
+                        metrics.getPaint99thPercentileMillis(), metrics.getPaintMaxMillis()),
+                String.format("tick late p99 %.2f ms, max %.2f ms", metrics.getTickLateness99thPercentileMillis(),
+                        metrics.getTickLatenessMaxMillis()),
+                String.format("dropped %d, coalesced %d ticks", metrics.getDroppedTicks(),
+                        metrics.getCoalescedTicks()),
+                String.format("%.0f bytes per frame", metrics.getAllocatedBytesPerFrame())
+            };
+        }
+
+        g.setFont(g.getFont().deriveFont(Font.PLAIN, 11f));
+        FontMetrics fontMetrics = g.getFontMetrics();
+
+        // Calculate overlay size
+        int lineHeight = fontMetrics.getHeight();
+        int width = 0;
+        for (String line : lines) {
+            width = Math.max(width, fontMetrics.stringWidth(line));
+        }
+        // Keep width of wider text painted before, so it is repainted
+        bounds.setBounds(0, 0, Math.max(bounds.width, width + 8), lines.length * lineHeight + 8);
+
+        // Draw text over translucent box
+        g.setColor(new Color(0, 0, 0, 160));
+        g.fillRect(0, 0, width + 8, bounds.height);
+        g.setColor(Color.WHITE);
+        for (int i = 0; i < lines.length; i++) {
+            g.drawString(lines[i], 4, 4 + i * lineHeight + fontMetrics.getAscent());
+        }
+    }
+
+    /**
+     * Add region of overlay painted last time to region.
+     * @param region  Region
+     */
+    public void addBounds(Rectangle region) {
+        if (! bounds.isEmpty()) {
+            region.add(bounds);
+        }
+    }
+}
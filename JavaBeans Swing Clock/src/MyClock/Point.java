@@ -2,31 +2,42 @@ package MyClock;
 
 /**
  * Class Point in 2-dimensional space.
+ * Methods {@code set}, {@code translate} and {@code scale} change the point in place,
+ * so one instance can be reused while painting without allocations.
  */
 public class Point {
 
     /** X-coordinate. */
-    private Number x;
+    private double x;
 
     /** Y-coordinate. */
-    private Number y;
+    private double y;
 
     /**
      * Constructor of point.
      * @param x  X-coordinate
      * @param y  Y-coordinate
      */
-    public Point(Number x, Number y) {
+    public Point(double x, double y) {
         this.x = x;
         this.y = y;
     }
 
+    /**
+     * Constructor of point of any number type.
+     * @param x  X-coordinate
+     * @param y  Y-coordinate
+     */
+    public Point(Number x, Number y) {
+        this(x.doubleValue(), y.doubleValue());
+    }
+
     /**
      * Get x-coordinate in integer format.
      * @return  x-coordinate
      */
     public int getX() {
-        return (int)(this.x.doubleValue());
+        return (int)this.x;
     }
 
     /**
@@ -34,7 +45,7 @@ public class Point {
      * @return  y-coordinate
      */
     public int getY() {
-        return (int)this.y.doubleValue();
+        return (int)this.y;
     }
 
     /**
@@ -42,7 +53,7 @@ public class Point {
      * @return  x-coordinate
      */
     public double getDoubleX() {
-        return this.x.doubleValue();
+        return this.x;
     }
 
     /**
@@ -50,33 +61,91 @@ public class Point {
      * @return  y-coordinate
      */
     public double getDoubleY() {
-        return this.y.doubleValue();
+        return this.y;
     }
 
     /**
      * Point addition with another point.
      * @param point  Another point
-     * @return  Point got by addition with respective coordinates
+     * @return  New point got by addition with respective coordinates
      */
     public Point add(Point point) {
-        return new Point(this.x.doubleValue() + point.getDoubleX(), this.y.doubleValue() + point.getDoubleY());
+        return new Point(this.x + point.x, this.y + point.y);
     }
 
     /**
      * Point addition with single value.
      * @param c  Single value
-     * @return  Point with coordinates each added with respective coordinates of another point
+     * @return  New point with coordinates each added with single value
      */
     public Point add(double c) {
-        return new Point(this.x.doubleValue() + c, this.y.doubleValue() + c);
+        return new Point(this.x + c, this.y + c);
     }
 
     /**
      * Point multiplication with single value
      * @param c  Single value
-     * @return  Point with coordinates each multiplied by single value
+     * @return  New point with coordinates each multiplied by single value
      */
     public Point transform(double c) {
-        return new Point(this.x.doubleValue() * c, this.y.doubleValue() * c);
+        return new Point(this.x * c, this.y * c);
+    }
+
+    /**
+     * Set both coordinates in place.
+     * @param x  X-coordinate
+     * @param y  Y-coordinate
+     * @return  This point
+     */
+    public Point set(double x, double y) {
+        this.x = x;
+        this.y = y;
+        return this;
+    }
+
+    /**
+     * Copy coordinates of another point in place.
+     * @param point  Another point
+     * @return  This point
+     */
+    public Point set(Point point) {
+        return set(point.x, point.y);
+    }
+
+    /**
+     * Addition with another point in place.
+     * @param point  Another point
+     * @return  This point
+     */
+    public Point translate(Point point) {
+        return set(this.x + point.x, this.y + point.y);
+    }
+
+    /**
+     * Addition with coordinates in place.
+     * @param x  X-coordinate
+     * @param y  Y-coordinate
+     * @return  This point
+     */
+    public Point translate(double x, double y) {
+        return set(this.x + x, this.y + y);
+    }
+
+    /**
+     * Addition with single value in place.
+     * @param c  Single value
+     * @return  This point
+     */
+    public Point translate(double c) {
+        return set(this.x + c, this.y + c);
+    }
+
+    /**
+     * Multiplication with single value in place.
+     * @param c  Single value
+     * @return  This point
+     */
+    public Point scale(double c) {
+        return set(this.x * c, this.y * c);
     }
 }
@@ -3,12 +3,25 @@ package MyClock;
 import java.awt.*;
 import java.awt.font.FontRenderContext;
 import java.awt.geom.Rectangle2D;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Class for calculating sizes of text, which will be drawn.
  */
 public class StringMetrics {
 
+    /** Maximum count of memoized bounds. */
+    private static final int CACHE_SIZE = 256;
+
+    /** Memoized bounds, least recently used are evicted. */
+    private static final Map<Key, Rectangle2D> cache = new LinkedHashMap<Key, Rectangle2D>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Rectangle2D> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
     /** Font of text. */
     private Font font;
 
@@ -24,13 +37,48 @@ public class StringMetrics {
         context = g2.getFontRenderContext();
     }
 
+    /**
+     * Get bounds of message, computed once per font, message and context.
+     * @param font  Font of text
+     * @param message  Message
+     * @param context  Context
+     * @return  Copy of memoized bounds
+     */
+    public static Rectangle2D getBounds(Font font, String message, FontRenderContext context) {
+        return (Rectangle2D)getSharedBounds(font, message, context).clone();
+    }
+
+    /**
+     * Get memoized bounds of message without copying, for painting which allocates nothing.
+     * Returned rectangle is shared and must not be modified.
+     * @param font  Font of text
+     * @param message  Message
+     * @param context  Context
+     * @return  Bounds
+     */
+    static Rectangle2D getSharedBounds(Font font, String message, FontRenderContext context) {
+        Key key = new Key(font, message, context);
+
+        synchronized (cache) {
+            Rectangle2D bounds = cache.get(key);
+
+            // Calculate bounds once
+            if (bounds == null) {
+                bounds = font.getStringBounds(message, context);
+                cache.put(key, bounds);
+            }
+
+            return bounds;
+        }
+    }
+
     /**
      * Get bounds of message.
      * @param message  Message
      * @return  Bounds
      */
     Rectangle2D getBounds(String message) {
-        return font.getStringBounds(message, context);
+        return getSharedBounds(font, message, context);
     }
 
     /**
@@ -52,4 +100,46 @@ public class StringMetrics {
         Rectangle2D bounds = getBounds(message);
         return bounds.getHeight();
     }
-}
\ No newline at end of file
+
+    /**
+     * Key of memoized bounds.
+     */
+    private static class Key {
+
+        /** Font of text. */
+        private final Font font;
+
+        /** Message. */
+        private final String message;
+
+        /** Context. */
+        private final FontRenderContext context;
+
+        /**
+         * Constructor of key.
+         * @param font  Font of text
+         * @param message  Message
+         * @param context  Context
+         */
+        Key(Font font, String message, FontRenderContext context) {
+            this.font = font;
+            this.message = message;
+            this.context = context;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (! (o instanceof Key)) {
+                return false;
+            }
+
+            Key key = (Key)o;
+            return font.equals(key.font) && message.equals(key.message) && context.equals(key.context);
+        }
+
+        @Override
+        public int hashCode() {
+            return (font.hashCode() * 31 + message.hashCode()) * 31 + context.hashCode();
+        }
+    }
+}
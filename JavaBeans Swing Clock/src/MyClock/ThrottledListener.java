@@ -0,0 +1,116 @@
+package MyClock;
+
+import javax.swing.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+
+/**
+ * Property change listener, which delivers at most given count of events per second
+ * to wrapped listener. Events coming faster are held back, and the last of them is delivered
+ * when interval expires, so wrapped listener always ends with latest value.
+ * Events are expected on event dispatch thread, as all events of clock.
+ */
+public class ThrottledListener implements PropertyChangeListener {
+
+    /** Wrapped listener. */
+    private final PropertyChangeListener listener;
+
+    /** Minimum interval between delivered events in nanoseconds. */
+    private final long interval;
+
+    /** Time of last delivered event in nanoseconds. */
+    private long lastDelivery;
+
+    /** Is any event delivered or not. */
+    private boolean delivered;
+
+    /** Last event held back in interval, null if none. */
+    private PropertyChangeEvent pending;
+
+    /** One-shot timer delivering held back event, it is created with first held back event. */
+    private Timer trailing;
+
+    /**
+     * Constructor of throttled listener.
+     * @param listener  Wrapped listener
+     * @param maxEventsPerSecond  Maximum count of events per second
+     */
+    public ThrottledListener(PropertyChangeListener listener, int maxEventsPerSecond) {
+        if (maxEventsPerSecond < 1) {
+            throw new IllegalArgumentException("Events per second must be positive");
+        }
+
+        this.listener = listener;
+        this.interval = 1000000000L / maxEventsPerSecond;
+    }
+
+    /**
+     * Wrapped listener getter.
+     * @return  Wrapped listener
+     */
+    public PropertyChangeListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Deliver event, if interval since last delivered event has passed,
+     * otherwise hold it back until interval expires.
+     * @param evt  Event
+     */
+    public void propertyChange(PropertyChangeEvent evt) {
+        long now = System.nanoTime();
+
+        if (! delivered || now - lastDelivery >= interval) {
+            // Older held back event must not come after this one
+            pending = null;
+            if (trailing != null) {
+                trailing.stop();
+            }
+            deliver(evt, now);
+            return;
+        }
+
+        // Only the last held back event is delivered
+        pending = evt;
+        if (trailing == null) {
+            trailing = new Timer(0, new ActionListener() {
+                public void actionPerformed(ActionEvent e) {
+                    deliverPending();
+                }
+            });
+            trailing.setRepeats(false);
+        }
+        if (! trailing.isRunning()) {
+            // Round up, so event isn't delivered before interval expires
+            long remaining = interval - (now - lastDelivery);
+            trailing.setInitialDelay((int)((remaining + 999999) / 1000000));
+            trailing.start();
+        }
+    }
+
+    /**
+     * Deliver held back event, if any.
+     */
+    private void deliverPending() {
+        PropertyChangeEvent evt = pending;
+        if (evt == null) {
+            return;
+        }
+
+        pending = null;
+        deliver(evt, System.nanoTime());
+    }
+
+    /**
+     * Deliver event to wrapped listener.
+     * @param evt  Event
+     * @param now  Current time in nanoseconds
+     */
+    private void deliver(PropertyChangeEvent evt, long now) {
+        delivered = true;
+        lastDelivery = now;
+        listener.propertyChange(evt);
+    }
+}
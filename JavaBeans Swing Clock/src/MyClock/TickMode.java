@@ -0,0 +1,16 @@
+package MyClock;
+
+/**
+ * Mode of clock timer.
+ */
+public enum TickMode {
+
+    /** Tick with fixed interval, 10 milliseconds by default. */
+    FIXED_RATE,
+
+    /** Smooth sweep, about 60 ticks per second. */
+    SWEEP,
+
+    /** Tick once per second, exactly at the beginning of second. */
+    TICK
+}
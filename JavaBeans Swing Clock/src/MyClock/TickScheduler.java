@@ -0,0 +1,255 @@
+package MyClock;
+
+import ClockCommon.ClockMetrics;
+import ClockCommon.TimeSource;
+
+import javax.swing.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+
+/**
+ * Scheduler of clock ticks on event dispatch thread. It can be started by owner
+ * and suspended independently, for example while clock isn't showing.
+ */
+public class TickScheduler {
+
+    /** Default interval of fixed rate mode in milliseconds. */
+    public static final int DEFAULT_INTERVAL = 10;
+
+    /** Interval of sweep mode in milliseconds. */
+    private static final int SWEEP_INTERVAL = 16;
+
+    /** Interval of tick mode in milliseconds. */
+    private static final int TICK_INTERVAL = 1000;
+
+    /** Listener of ticks. */
+    private final ActionListener listener;
+
+    /** Timer reference. */
+    private final Timer timer;
+
+    /** Mode of ticks. */
+    private TickMode mode;
+
+    /** Interval of fixed rate mode in milliseconds. */
+    private int interval;
+
+    /** Is scheduler started or not. */
+    private boolean started;
+
+    /** Is scheduler suspended or not. */
+    private boolean suspended;
+
+    /** Metrics to record lateness of ticks to, may be null. */
+    private ClockMetrics metrics;
+
+    /** Time the next tick is due at, by {@link System#nanoTime()}. */
+    private long dueNanos;
+
+    /** Source of displayed time, tick mode wakes up at beginning of its seconds. */
+    private TimeSource timeSource;
+
+    /**
+     * Constructor of scheduler in fixed rate mode.
+     * @param listener  Listener of ticks
+     */
+    public TickScheduler(ActionListener listener) {
+        this.listener = listener;
+        this.mode = TickMode.FIXED_RATE;
+        this.interval = DEFAULT_INTERVAL;
+        this.timeSource = TimeSource.system();
+        this.timer = new Timer(interval, new ActionListener() {
+            public void actionPerformed(ActionEvent evt) {
+                tick(evt);
+            }
+        });
+    }
+
+    /**
+     * Mode setter.
+     * @param mode  Mode of ticks
+     */
+    public void setMode(TickMode mode) {
+        if (mode == null) {
+            throw new IllegalArgumentException("Mode must not be null");
+        }
+
+        this.mode = mode;
+        reschedule();
+    }
+
+    /**
+     * Mode getter.
+     * @return  Mode of ticks
+     */
+    public TickMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Interval of fixed rate mode setter.
+     * @param interval  Interval in milliseconds
+     */
+    public void setInterval(int interval) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("Interval must be positive");
+        }
+
+        this.interval = interval;
+        reschedule();
+    }
+
+    /**
+     * Interval of fixed rate mode getter.
+     * @return  Interval in milliseconds
+     */
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     * Nominal period between ticks in current mode.
+     * @return  Period in milliseconds
+     */
+    public int getPeriod() {
+        if (mode == TickMode.SWEEP) {
+            return SWEEP_INTERVAL;
+        } else if (mode == TickMode.TICK) {
+            return TICK_INTERVAL;
+        } else {
+            return interval;
+        }
+    }
+
+    /**
+     * Time source setter.
+     * @param timeSource  Source of displayed time, tick mode is aligned to its seconds
+     */
+    public void setTimeSource(TimeSource timeSource) {
+        if (timeSource == null) {
+            throw new IllegalArgumentException("Time source must not be null");
+        }
+
+        this.timeSource = timeSource;
+        reschedule();
+    }
+
+    /**
+     * Time source getter.
+     * @return  Source of displayed time
+     */
+    public TimeSource getTimeSource() {
+        return timeSource;
+    }
+
+    /**
+     * Metrics setter.
+     * @param metrics  Metrics to record lateness of ticks to, null to stop recording
+     */
+    public void setMetrics(ClockMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Start ticks.
+     */
+    public void start() {
+        started = true;
+        reschedule();
+    }
+
+    /**
+     * Stop ticks.
+     */
+    public void stop() {
+        started = false;
+        reschedule();
+    }
+
+    /**
+     * Is started getter.
+     * @return  Is scheduler started or not
+     */
+    public boolean isRunning() {
+        return started;
+    }
+
+    /**
+     * Suspended setter, suspended scheduler doesn't tick even if it is started.
+     * @param suspended  Is scheduler suspended or not
+     */
+    public void setSuspended(boolean suspended) {
+        if (this.suspended != suspended) {
+            this.suspended = suspended;
+            reschedule();
+        }
+    }
+
+    /**
+     * Is suspended getter.
+     * @return  Is scheduler suspended or not
+     */
+    public boolean isSuspended() {
+        return suspended;
+    }
+
+    /**
+     * Deliver tick to listener and wait for the next one.
+     * @param evt  Timer event
+     */
+    private void tick(ActionEvent evt) {
+        if (metrics != null) {
+            long now = System.nanoTime();
+            metrics.recordTick(now - dueNanos, getPeriod() * 1000000L);
+            // Timer counts next period from the moment it has fired
+            dueNanos = now + getPeriod() * 1000000L;
+        }
+
+        listener.actionPerformed(evt);
+
+        // Tick mode wakes up once at the beginning of next second
+        if (mode == TickMode.TICK && started && ! suspended) {
+            schedule(getDelayToNextSecond());
+            timer.start();
+        }
+    }
+
+    /**
+     * Apply mode, interval and state to timer.
+     */
+    private void reschedule() {
+        timer.stop();
+
+        if (! started || suspended) {
+            return;
+        }
+
+        if (mode == TickMode.TICK) {
+            timer.setRepeats(false);
+            schedule(getDelayToNextSecond());
+        } else {
+            timer.setRepeats(true);
+            timer.setDelay(getPeriod());
+            schedule(getPeriod());
+        }
+
+        timer.start();
+    }
+
+    /**
+     * Set delay of next tick.
+     * @param delay  Delay in milliseconds
+     */
+    private void schedule(int delay) {
+        timer.setInitialDelay(delay);
+        dueNanos = System.nanoTime() + delay * 1000000L;
+    }
+
+    /**
+     * Milliseconds till the beginning of next second of time source.
+     * @return  Delay in milliseconds
+     */
+    private int getDelayToNextSecond() {
+        return (int)(TICK_INTERVAL - Math.floorMod(timeSource.currentTimeMillis(), (long)TICK_INTERVAL));
+    }
+}
@@ -0,0 +1,115 @@
+package MyClock;
+
+import javax.swing.*;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Check events of clock: listeners of all properties get single "time" event per time change,
+ * listeners of fields get events of changed fields, and throttled listener ends with the last event of burst.
+ * Run with {@code -Djava.awt.headless=true}, it throws {@link IllegalStateException} on failure.
+ */
+public class EventCheck {
+
+    /**
+     * Run check.
+     * @param args  Not used
+     * @throws Exception  If check is interrupted or fails on event dispatch thread
+     */
+    public static void main(String[] args) throws Exception {
+        SwingUtilities.invokeAndWait(new Runnable() {
+            public void run() {
+                checkFieldEvents();
+            }
+        });
+        checkThrottledListener();
+    }
+
+    /**
+     * Set time, so only some fields change, and check names of fired events.
+     */
+    private static void checkFieldEvents() {
+        Clock clock = new Clock();
+        clock.setRunning(false);
+        clock.setTime(3, 15, 30, 500);
+
+        final List<String> names = new ArrayList<String>();
+        clock.addPropertyChangeListener(new PropertyChangeListener() {
+            public void propertyChange(PropertyChangeEvent evt) {
+                names.add(evt.getPropertyName());
+            }
+        });
+        final List<String> fieldNames = new ArrayList<String>();
+        PropertyChangeListener fieldListener = new PropertyChangeListener() {
+            public void propertyChange(PropertyChangeEvent evt) {
+                fieldNames.add(evt.getPropertyName());
+            }
+        };
+        clock.addPropertyChangeListener("minutes", fieldListener);
+        clock.addPropertyChangeListener("seconds", fieldListener);
+
+        clock.setTime(3, 16, 30, 0);
+
+        // Listener of all properties gets events of fields, which have their own listeners
+        if (! names.equals(Arrays.asList("minutes", "time"))) {
+            throw new IllegalStateException("Unexpected events " + names);
+        }
+        if (! fieldNames.equals(Arrays.asList("minutes"))) {
+            throw new IllegalStateException("Unexpected events of fields " + fieldNames);
+        }
+
+        // Without listeners of fields single event is fired
+        clock.removePropertyChangeListener("minutes", fieldListener);
+        clock.removePropertyChangeListener("seconds", fieldListener);
+        names.clear();
+        clock.setTime(4, 17, 31, 1);
+        if (! names.equals(Arrays.asList("time"))) {
+            throw new IllegalStateException("Unexpected events " + names);
+        }
+        System.out.println("Events of time change: " + names + ", events of fields with listeners: " + fieldNames);
+    }
+
+    /**
+     * Fire burst of events faster than throttle and check the last event is delivered after burst.
+     * @throws Exception  If check is interrupted
+     */
+    private static void checkThrottledListener() throws Exception {
+        final List<Object> delivered = new ArrayList<Object>();
+        final ThrottledListener throttled = new ThrottledListener(new PropertyChangeListener() {
+            public void propertyChange(PropertyChangeEvent evt) {
+                delivered.add(evt.getNewValue());
+            }
+        }, 10);
+
+        // 50 events in about 250 ms, throttle allows about 3 of them
+        for (int i = 0; i < 50; i++) {
+            final int value = i;
+            SwingUtilities.invokeAndWait(new Runnable() {
+                public void run() {
+                    throttled.propertyChange(new PropertyChangeEvent(this, "time", value - 1, value));
+                }
+            });
+            Thread.sleep(5);
+        }
+
+        // Held back event is delivered within interval after burst
+        Thread.sleep(300);
+        final List<Object> result = new ArrayList<Object>();
+        SwingUtilities.invokeAndWait(new Runnable() {
+            public void run() {
+                result.addAll(delivered);
+            }
+        });
+
+        if (result.isEmpty() || ! Integer.valueOf(49).equals(result.get(result.size() - 1))) {
+            throw new IllegalStateException("Last event isn't delivered, delivered " + result);
+        }
+        if (result.size() > 10) {
+            throw new IllegalStateException("Events aren't throttled, delivered " + result);
+        }
+        System.out.println("Throttled listener delivered " + result);
+    }
+}
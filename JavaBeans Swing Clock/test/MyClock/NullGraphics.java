@@ -0,0 +1,312 @@
+package MyClock;
+
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.BufferedImageOp;
+import java.awt.image.ImageObserver;
+import java.awt.image.RenderedImage;
+import java.awt.image.renderable.RenderableImage;
+import java.text.AttributedCharacterIterator;
+import java.util.Map;
+
+/**
+ * Graphics painting nothing and allocating nothing.
+ * Allocation measured while painting into it is allocation of clock code only, not of Java2D pipeline.
+ */
+class NullGraphics extends Graphics2D {
+
+    /** Font render context of antialiased text, the same for all calls. */
+    private final FontRenderContext context = new FontRenderContext(null, true, true);
+
+    /** Rendering hints, they are kept, but not applied. */
+    private final RenderingHints hints = new RenderingHints(null);
+
+    /** Clip, it is kept, but not applied. */
+    private Shape clip;
+
+    /** Transform, it is kept, but not applied. */
+    private AffineTransform transform = new AffineTransform();
+
+    /** Color. */
+    private Color color = Color.BLACK;
+
+    /** Background color. */
+    private Color background = Color.WHITE;
+
+    /** Paint. */
+    private Paint paint = Color.BLACK;
+
+    /** Composite. */
+    private Composite composite = AlphaComposite.SrcOver;
+
+    /** Stroke. */
+    private Stroke stroke = new BasicStroke();
+
+    /** Font. */
+    private Font font = new Font(Font.SANS_SERIF, Font.PLAIN, 12);
+
+    public void draw(Shape s) {
+    }
+
+    public boolean drawImage(Image img, AffineTransform xform, ImageObserver obs) {
+        return true;
+    }
+
+    public void drawImage(BufferedImage img, BufferedImageOp op, int x, int y) {
+    }
+
+    public void drawRenderedImage(RenderedImage img, AffineTransform xform) {
+    }
+
+    public void drawRenderableImage(RenderableImage img, AffineTransform xform) {
+    }
+
+    public void drawString(String str, int x, int y) {
+    }
+
+    public void drawString(String str, float x, float y) {
+    }
+
+    public void drawString(AttributedCharacterIterator iterator, int x, int y) {
+    }
+
+    public void drawString(AttributedCharacterIterator iterator, float x, float y) {
+    }
+
+    public void drawGlyphVector(GlyphVector g, float x, float y) {
+    }
+
+    public void fill(Shape s) {
+    }
+
+    public boolean hit(Rectangle rect, Shape s, boolean onStroke) {
+        return false;
+    }
+
+    public GraphicsConfiguration getDeviceConfiguration() {
+        return null;
+    }
+
+    public void setComposite(Composite comp) {
+        composite = comp;
+    }
+
+    public void setPaint(Paint paint) {
+        this.paint = paint;
+    }
+
+    public void setStroke(Stroke s) {
+        stroke = s;
+    }
+
+    public void setRenderingHint(RenderingHints.Key hintKey, Object hintValue) {
+        // Hints are put only once, so later puts of the same value don't allocate
+        if (hints.get(hintKey) != hintValue) {
+            hints.put(hintKey, hintValue);
+        }
+    }
+
+    public Object getRenderingHint(RenderingHints.Key hintKey) {
+        return hints.get(hintKey);
+    }
+
+    public void setRenderingHints(Map<?, ?> hints) {
+        this.hints.clear();
+        this.hints.putAll(hints);
+    }
+
+    public void addRenderingHints(Map<?, ?> hints) {
+        this.hints.putAll(hints);
+    }
+
+    public RenderingHints getRenderingHints() {
+        return (RenderingHints)hints.clone();
+    }
+
+    public void translate(int x, int y) {
+        transform.translate(x, y);
+    }
+
+    public void translate(double tx, double ty) {
+        transform.translate(tx, ty);
+    }
+
+    public void rotate(double theta) {
+        transform.rotate(theta);
+    }
+
+    public void rotate(double theta, double x, double y) {
+        transform.rotate(theta, x, y);
+    }
+
+    public void scale(double sx, double sy) {
+        transform.scale(sx, sy);
+    }
+
+    public void shear(double shx, double shy) {
+        transform.shear(shx, shy);
+    }
+
+    public void transform(AffineTransform tx) {
+        transform.concatenate(tx);
+    }
+
+    public void setTransform(AffineTransform tx) {
+        transform = new AffineTransform(tx);
+    }
+
+    public AffineTransform getTransform() {
+        return new AffineTransform(transform);
+    }
+
+    public Paint getPaint() {
+        return paint;
+    }
+
+    public Composite getComposite() {
+        return composite;
+    }
+
+    public void setBackground(Color color) {
+        background = color;
+    }
+
+    public Color getBackground() {
+        return background;
+    }
+
+    public Stroke getStroke() {
+        return stroke;
+    }
+
+    public void clip(Shape s) {
+        clip = s;
+    }
+
+    public FontRenderContext getFontRenderContext() {
+        return context;
+    }
+
+    public Graphics create() {
+        return new NullGraphics();
+    }
+
+    public Color getColor() {
+        return color;
+    }
+
+    public void setColor(Color c) {
+        color = c;
+        paint = c;
+    }
+
+    public void setPaintMode() {
+    }
+
+    public void setXORMode(Color c1) {
+    }
+
+    public Font getFont() {
+        return font;
+    }
+
+    public void setFont(Font font) {
+        this.font = font;
+    }
+
+    public FontMetrics getFontMetrics(Font f) {
+        return new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).getGraphics().getFontMetrics(f);
+    }
+
+    public Rectangle getClipBounds() {
+        return clip == null ? null : clip.getBounds();
+    }
+
+    public void clipRect(int x, int y, int width, int height) {
+        clip = new Rectangle(x, y, width, height);
+    }
+
+    public void setClip(int x, int y, int width, int height) {
+        clip = new Rectangle(x, y, width, height);
+    }
+
+    public Shape getClip() {
+        return clip;
+    }
+
+    public void setClip(Shape clip) {
+        this.clip = clip;
+    }
+
+    public void copyArea(int x, int y, int width, int height, int dx, int dy) {
+    }
+
+    public void drawLine(int x1, int y1, int x2, int y2) {
+    }
+
+    public void fillRect(int x, int y, int width, int height) {
+    }
+
+    public void clearRect(int x, int y, int width, int height) {
+    }
+
+    public void drawRoundRect(int x, int y, int width, int height, int arcWidth, int arcHeight) {
+    }
+
+    public void fillRoundRect(int x, int y, int width, int height, int arcWidth, int arcHeight) {
+    }
+
+    public void drawOval(int x, int y, int width, int height) {
+    }
+
+    public void fillOval(int x, int y, int width, int height) {
+    }
+
+    public void drawArc(int x, int y, int width, int height, int startAngle, int arcAngle) {
+    }
+
+    public void fillArc(int x, int y, int width, int height, int startAngle, int arcAngle) {
+    }
+
+    public void drawPolyline(int[] xPoints, int[] yPoints, int nPoints) {
+    }
+
+    public void drawPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+    }
+
+    public void fillPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+    }
+
+    public boolean drawImage(Image img, int x, int y, ImageObserver observer) {
+        return true;
+    }
+
+    public boolean drawImage(Image img, int x, int y, int width, int height, ImageObserver observer) {
+        return true;
+    }
+
+    public boolean drawImage(Image img, int x, int y, Color bgcolor, ImageObserver observer) {
+        return true;
+    }
+
+    public boolean drawImage(Image img, int x, int y, int width, int height, Color bgcolor,
+            ImageObserver observer) {
+        return true;
+    }
+
+    public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1, int sx2, int sy2,
+            ImageObserver observer) {
+        return true;
+    }
+
+    public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1, int sx2, int sy2,
+            Color bgcolor, ImageObserver observer) {
+        return true;
+    }
+
+    public void dispose() {
+    }
+}
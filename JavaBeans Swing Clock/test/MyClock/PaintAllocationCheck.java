@@ -0,0 +1,71 @@
+package MyClock;
+
+import ClockCommon.ClockMetrics;
+
+import java.awt.*;
+
+/**
+ * Check that steady state painting of clock allocates no bytes in clock code,
+ * on vector path and on cached face path.
+ * Run with {@code -Djava.awt.headless=true}, it throws {@link IllegalStateException} on failure.
+ */
+public class PaintAllocationCheck {
+
+    /** Count of frames painted before measurement, so caches are built and code is compiled. */
+    private static final int WARMUP_FRAMES = 20000;
+
+    /** Count of measured frames. */
+    private static final int FRAMES = 10000;
+
+    /**
+     * Run check.
+     * @param args  Not used
+     */
+    public static void main(String[] args) {
+        if (ClockMetrics.getThreadAllocatedBytes() < 0) {
+            System.out.println("Allocation can't be measured by this JVM, check skipped");
+            return;
+        }
+
+        check("vector", false);
+        check("cached face", true);
+    }
+
+    /**
+     * Paint frames one second apart, so arrows move every frame, and check allocated bytes.
+     * @param name  Name of paint path
+     * @param faceCached  Is face cached or not
+     */
+    private static void check(String name, boolean faceCached) {
+        ClockRenderer renderer = new ClockRenderer();
+        renderer.setScreenSize(new Dimension(1920, 1080));
+        renderer.setFaceCached(faceCached);
+        renderer.setSize(400, 400);
+        Graphics2D g = new NullGraphics();
+
+        long time = 0;
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            time += 1000;
+            renderer.setTimeMillis(time);
+            renderer.paint(g);
+        }
+
+        // Measurement itself may allocate, e.g. array of thread ids on JDK 8
+        long overhead = ClockMetrics.getThreadAllocatedBytes();
+        overhead = ClockMetrics.getThreadAllocatedBytes() - overhead;
+
+        long allocated = ClockMetrics.getThreadAllocatedBytes();
+        for (int i = 0; i < FRAMES; i++) {
+            time += 1000;
+            renderer.setTimeMillis(time);
+            renderer.paint(g);
+        }
+        allocated = ClockMetrics.getThreadAllocatedBytes() - allocated - overhead;
+
+        System.out.println("Paint path " + name + ": " + allocated + " bytes in " + FRAMES + " frames");
+        if (allocated > 0) {
+            throw new IllegalStateException("Paint path " + name + " allocates "
+                    + (double)allocated / FRAMES + " bytes per frame");
+        }
+    }
+}
@@ -1,60 +1,90 @@
 package ClockFx;
 
+import ClockCommon.ClockMetrics;
+import ClockCommon.ClockStartup;
+import ClockCommon.TickPublisher;
+import ClockCommon.TickSubscriber;
+import ClockCommon.TimeOfDay;
+import ClockCommon.TimeSource;
+import ClockCommon.Trigonometry;
 import javafx.animation.AnimationTimer;
 import javafx.application.Application;
 import javafx.beans.binding.Bindings;
 import javafx.beans.binding.NumberBinding;
-import javafx.beans.value.ChangeListener;
-import javafx.beans.value.ObservableValue;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.Group;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.shape.*;
 import javafx.scene.text.Font;
 import javafx.scene.text.Text;
+import javafx.scene.transform.Scale;
+import javafx.scene.transform.Translate;
 import javafx.stage.Screen;
 import javafx.stage.Stage;
 import javafx.scene.paint.Color;
 
-import java.util.Calendar;
-import java.util.Date;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
 
 
 public class Clock extends Application {
 
+    /** Nominal period of pulses in nanoseconds. */
+    private static final long PULSE_PERIOD = 1000000000L / 60;
+
+    /** Angle engine of clock face. */
+    private final Trigonometry trigonometry = new Trigonometry(Trigonometry.DEFAULT_RESOLUTION);
+
+    /** Source of current time. */
+    private TimeSource timeSource = TimeSource.system();
+
+    /** Metrics of pulses, lateness of pulse is counted as dropped frames. */
+    private final ClockMetrics metrics = new ClockMetrics("ClockFx");
+
+    /** Publisher and subscriber of tick feed, closed when application stops. */
+    private final List<Closeable> tickFeeds = new ArrayList<Closeable>();
+
     public void start(Stage stage) {
+        // Load font and time zone data while scene is created
+        ClockStartup.preload(FontService.LOADER);
+
+        // Exit after first full paint, so class list of startup is dumped for AppCDS archive
+        if (getParameters().getRaw().contains("--training")) {
+            ClockStartup.exitAfterFullPaint();
+        }
+
+        // Send time to clocks of this host, or show time received from publisher
+        for (String arg : getParameters().getRaw()) {
+            try {
+                if (arg.equals("--publish") || arg.startsWith("--publish=")) {
+                    TickPublisher publisher = new TickPublisher(getPort(arg), TickPublisher.DEFAULT_PERIOD);
+                    tickFeeds.add(publisher);
+                    publisher.start();
+                }
+                if (arg.equals("--subscribe") || arg.startsWith("--subscribe=")) {
+                    TickSubscriber subscriber = new TickSubscriber(getPort(arg));
+                    tickFeeds.add(subscriber);
+                    subscriber.start();
+                    setTimeSource(subscriber);
+                }
+            } catch (IOException e) {
+                Logger.getLogger(Clock.class.getName()).warning("Tick feed isn't available: " + e);
+            }
+        }
+
         // Create group
         Group group = new Group();
 
-        // Create clock face circle
-        final Circle clockFace = new Circle();
-
-        // Create minute circle (for arrow)
-        Circle minuteCircle = new Circle();
-        // Create second circle (for arrow)
-        Circle secondCircle = new Circle();
-
-        // Create second arrow
-        final Line secondArrow = new Line();
-        // Create minute arrow
-        final Line minuteArrow = new Line();
-        // Create hour arrow
-        final Line hourArrow = new Line();
-
-        // Add all elements to group
-        group.getChildren().add(clockFace);
-        group.getChildren().add(hourArrow);
-        group.getChildren().add(minuteArrow);
-        group.getChildren().add(minuteCircle);
-        group.getChildren().add(secondCircle);
-        group.getChildren().add(secondArrow);
-
         // Create scene with this group
         Scene scene = new Scene(group);
 
-        // Minimum binding scene dimension
-        NumberBinding sceneSize = Bindings.min(scene.heightProperty(), scene.widthProperty());
-
         // Minimum of screen dimension
         Rectangle2D screen = Screen.getPrimary().getVisualBounds();
         double screenSize = Math.min(screen.getWidth(), screen.getHeight());
@@ -68,162 +98,438 @@ public class Clock extends Application {
         stage.setMinHeight(200);
         stage.show();
 
-        // Load font
-        Font.loadFont(Clock.class.getResource("HelveticaNeue-Light.otf").toExternalForm(), 65);
+        // Draw clock on single canvas or by nodes of scene graph
+        Pulse pulse;
+        if (getParameters().getRaw().contains("--renderer=canvas")) {
+            pulse = createCanvas(group, scene.widthProperty(), scene.heightProperty(), screenSize);
+        } else {
+            pulse = createNodes(group, scene.widthProperty(), scene.heightProperty(), screenSize);
+        }
 
-        // Calculate resizeable font size
-        final NumberBinding fontSize = Bindings.max(sceneSize.divide(screenSize).multiply(65), 1.0);
+        // Show metrics over clock and through JMX, if asked
+        pulse.overlay.setVisible(getParameters().getRaw().contains("--metrics"));
+        group.getChildren().add(pulse.overlay);
+        if (pulse.overlay.isVisible()) {
+            metrics.register("Clock");
+        }
 
-        // Create array of texts (for clock face from 1 to 12)
-        final Text[] texts = new Text[12];
+        // Start timer
+        pulse.start();
+    }
 
-        // Create and configure texts
-        for (int i = 0; i < 12; i++) {
-            texts[i] = new Text(Integer.toString(i + 1));
-            texts[i].setFill(Color.WHITE);
-            resizeFont(clockFace, texts[i], fontSize, i);
-            group.getChildren().add(texts[i]);
-        }
+    /**
+     * Create clock drawn on single canvas. Static face is drawn into image once per size,
+     * arrows are drawn over it on every pulse.
+     * @param group  Group the clock is added to
+     * @param width  Width of clock
+     * @param height  Height of clock
+     * @param screenSize  Minimum of screen dimension
+     * @return  Timer updating clock
+     */
+    public Pulse createCanvas(Group group, ReadOnlyDoubleProperty width, ReadOnlyDoubleProperty height,
+                              double screenSize) {
+        final ClockCanvas canvas = new ClockCanvas(screenSize);
+        canvas.widthProperty().bind(width);
+        canvas.heightProperty().bind(height);
+        group.getChildren().add(canvas);
+
+        return new Pulse() {
+            @Override
+            protected void placeholder() {
+                canvas.drawPlaceholder();
+            }
 
-        // Resize font while scene width is changing
-        scene.widthProperty().addListener(new ChangeListener<Number>() {
             @Override
-            public void changed(ObservableValue<? extends Number> o, Number w, Number h) {
-                for (int i = 0; i < 12; i++) {
-                    resizeFont(clockFace, texts[i], fontSize, i);
-                }
+            protected void update(double hour, double minute, double second) {
+                canvas.draw(hour, minute, second);
             }
-        });
+        };
+    }
 
+    /**
+     * Create clock of nodes of scene graph: circles, lines and texts.
+     * @param group  Group the clock is added to
+     * @param width  Width of clock
+     * @param height  Height of clock
+     * @param screenSize  Minimum of screen dimension
+     * @return  Timer updating clock
+     */
+    public Pulse createNodes(Group group, ReadOnlyDoubleProperty width, ReadOnlyDoubleProperty height,
+                             double screenSize) {
+        return new NodePulse(group, width, height, screenSize);
+    }
 
-        // Resize font while scene height is changing
-        scene.heightProperty().addListener(new ChangeListener<Number>() {
-            @Override
-            public void changed(ObservableValue<? extends Number> o, Number w, Number h) {
-                for (int i = 0; i < 12; i++) {
-                    resizeFont(clockFace, texts[i], fontSize, i);
+    /**
+     * Show metrics in overlay text.
+     * @param overlay  Overlay text
+     */
+    private void updateOverlay(Text overlay) {
+        overlay.setText(String.format("%.1f fps, %d frames%n"
+                        + "pulse p50 %.2f ms, p99 %.2f ms, max %.2f ms%n"
+                        + "pulse late p99 %.2f ms, dropped %d frames%n"
+                        + "%.0f bytes per frame",
+                metrics.getFramesPerSecond(), metrics.getFrameCount(),
+                metrics.getPaint50thPercentileMillis(), metrics.getPaint99thPercentileMillis(),
+                metrics.getPaintMaxMillis(), metrics.getTickLateness99thPercentileMillis(),
+                metrics.getDroppedTicks(), metrics.getAllocatedBytesPerFrame()));
+    }
+
+    /**
+     * Metrics getter.
+     * @return  Metrics of pulses
+     */
+    public ClockMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Evaluation of trigonometric argument.
+     * @param x  Time indicator
+     * @param pace  Pace of time indicator
+     * @return  Trigonometric argument
+     */
+    private double getArgument(double x, double pace) {
+        return Trigonometry.getArgument(x, pace);
+    }
+
+    /**
+     * Time source setter, clock shows time of source from next pulse.
+     * @param timeSource  Source of current time
+     */
+    public void setTimeSource(TimeSource timeSource) {
+        if (timeSource == null) {
+            throw new IllegalArgumentException("Time source must not be null");
+        }
+
+        this.timeSource = timeSource;
+    }
+
+    /**
+     * Timer updating clock on every pulse. It reads current time and records metrics,
+     * clock is updated by backend. Pulse may be driven without starting timer, by calling
+     * {@link #handle(long)} on application thread.
+     */
+    public abstract class Pulse extends AnimationTimer {
+
+        /** Text of metrics shown over clock. */
+        final Text overlay = new Text(4, 14, "");
+
+        /** Time of last overlay refresh in nanoseconds. */
+        private long lastOverlay;
+
+        /** Time of previous pulse in nanoseconds, zero before first pulse. */
+        private long lastPulse;
+
+        /** Decomposition of time in system default zone, created when zone data is loaded. */
+        private TimeOfDay calendar;
+
+        /**
+         * Constructor of timer.
+         */
+        Pulse() {
+            overlay.setFill(Color.GRAY);
+        }
+
+        @Override
+        public void handle(long arg) {
+            // Measure only updating of scene
+            long start = System.nanoTime();
+            long allocated = ClockMetrics.getThreadAllocatedBytes();
+
+            // Pulse later than period after previous one means dropped frames
+            if (lastPulse != 0) {
+                metrics.recordTick(arg - lastPulse - PULSE_PERIOD, PULSE_PERIOD);
+            }
+            lastPulse = arg;
+
+            // Show placeholder face until data is loaded
+            if (calendar == null) {
+                if (! ClockStartup.isReady()) {
+                    placeholder();
+                    ClockStartup.recordPaint(false, metrics);
+                    return;
                 }
+
+                // Get decomposition of time in system default zone
+                calendar = new TimeOfDay();
+                show();
+                ClockStartup.recordPaint(true, metrics);
             }
-        });
-
-        // Configure clock face
-        clockFace.radiusProperty().bind(sceneSize.divide(2).multiply(0.9));
-        clockFace.centerXProperty().bind(scene.widthProperty().divide(2));
-        clockFace.centerYProperty().bind(scene.heightProperty().divide(2));
-        clockFace.setFill(Color.BLACK);
-
-        // Configure minute circle
-        minuteCircle.radiusProperty().bind(clockFace.radiusProperty().multiply(0.05));
-        minuteCircle.centerXProperty().bind(clockFace.centerXProperty());
-        minuteCircle.centerYProperty().bind(clockFace.centerYProperty());
-        minuteCircle.setFill(Color.WHITE);
-
-        // Configure second circle
-        secondCircle.radiusProperty().bind(clockFace.radiusProperty().multiply(0.015));
-        secondCircle.centerXProperty().bind(clockFace.centerXProperty());
-        secondCircle.centerYProperty().bind(clockFace.centerYProperty());
-        secondCircle.setFill(Color.RED);
-
-        // Configure second arrow
-        secondArrow.setStroke(Color.RED);
-        secondArrow.strokeWidthProperty().bind(Bindings.max(sceneSize.divide(screenSize).multiply(3), 1.0));
-        secondArrow.startXProperty().bind(clockFace.centerXProperty());
-        secondArrow.startYProperty().bind(clockFace.centerYProperty());
-        secondArrow.setSmooth(true);
-
-        // Configure minute arrow
-        minuteArrow.setStroke(Color.WHITE);
-        minuteArrow.strokeWidthProperty().bind(Bindings.max(sceneSize.divide(screenSize).multiply(8), 1.0));
-        minuteArrow.startXProperty().bind(clockFace.centerXProperty());
-        minuteArrow.startYProperty().bind(clockFace.centerYProperty());
-        minuteArrow.setSmooth(true);
-
-        // Configure hour arrow
-        hourArrow.setStroke(Color.WHITE);
-        hourArrow.strokeWidthProperty().bind(Bindings.max(sceneSize.divide(screenSize).multiply(8), 1.0));
-        hourArrow.startXProperty().bind(clockFace.centerXProperty());
-        hourArrow.startYProperty().bind(clockFace.centerYProperty());
-
-        // Get instance of calendar
-        final Calendar calendar = Calendar.getInstance();
-
-        // Create timer for animation
-        AnimationTimer timer = new AnimationTimer() {
-            @Override
-            public void handle(long arg) {
-                // Update current time
-                calendar.setTime(new Date());
-
-                // Calculate seconds
-                double second = (double)calendar.get(calendar.SECOND) +
-                        (double)calendar.get(calendar.MILLISECOND) / 1000.0;
-                // Calculate minutes
-                double minute = (double)calendar.get(calendar.MINUTE) + second / 60.0;
-                // Calculate hours
-                double hour = (double)calendar.get(calendar.HOUR) + minute / 60.0;
-
-                // Calculate end of second arrow
-                secondArrow.endXProperty().bind(clockFace.centerXProperty().add(getXProperty(second, 6.0, 0.7)));
-                secondArrow.endYProperty().bind(clockFace.centerYProperty().add(getYProperty(second, 6.0, 0.7)));
-
-                // Calculate end of minute arrow
-                minuteArrow.endXProperty().bind(clockFace.centerXProperty().add(getXProperty(minute, 6.0, 0.7)));
-                minuteArrow.endYProperty().bind(clockFace.centerYProperty().add(getYProperty(minute, 6.0, 0.7)));
-
-                // Calculate end of hour arrow
-                hourArrow.endXProperty().bind(clockFace.centerXProperty().add(getXProperty(hour, 30.0, 0.5)));
-                hourArrow.endYProperty().bind(clockFace.centerYProperty().add(getYProperty(hour, 30.0, 0.5)));
+
+            // Update current time
+            calendar.update(timeSource.currentTimeMillis());
+
+            // Calculate seconds
+            double second = (double)calendar.getSeconds() +
+                    (double)calendar.getMilliseconds() / 1000.0;
+            // Calculate minutes
+            double minute = (double)calendar.getMinutes() + second / 60.0;
+            // Calculate hours
+            double hour = (double)calendar.getHours() + minute / 60.0;
+
+            update(hour, minute, second);
+
+            // Allocation isn't measured if JVM can't do it
+            if (allocated >= 0) {
+                allocated = ClockMetrics.getThreadAllocatedBytes() - allocated;
+            }
+            metrics.recordPaint(start, System.nanoTime(), allocated);
+
+            // Refresh overlay once per second, so it doesn't relayout text on every pulse
+            if (overlay.isVisible() && arg - lastOverlay >= 1000000000L) {
+                lastOverlay = arg;
+                updateOverlay(overlay);
+            }
+        }
+
+        /**
+         * Draw placeholder face while font and time zone data are loading.
+         */
+        protected void placeholder() {
+        }
+
+        /**
+         * Show details of clock when font and time zone data are loaded.
+         */
+        protected void show() {
+        }
+
+        /**
+         * Update clock to time.
+         * @param hour  Hours with fraction
+         * @param minute  Minutes with fraction
+         * @param second  Seconds with fraction
+         */
+        protected abstract void update(double hour, double minute, double second);
+    }
+
+    /**
+     * Timer updating clock of nodes of scene graph: circles, lines and texts.
+     * Layout of numbers is kept per clock, so clocks of one application are laid out independently.
+     */
+    private class NodePulse extends Pulse {
+
+        /** Minimum of screen dimension. */
+        private final double screenSize;
+
+        /** Clock face circle. */
+        private final Circle clockFace = new Circle();
+
+        /** Hour arrow. */
+        private final Line hourArrow = new Line();
+
+        /** Minute arrow. */
+        private final Line minuteArrow = new Line();
+
+        /** Second arrow. */
+        private final Line secondArrow = new Line();
+
+        /** Texts of numbers from 1 to 12. */
+        private final Text[] texts = new Text[12];
+
+        /** Resizeable font size. */
+        private final NumberBinding fontSize;
+
+        /** Arrows and numbers, shown when font and time zone data are loaded. */
+        private final Node[] details;
+
+        /** Position of numbers group at clock face center. */
+        private final Translate numbersTranslate = new Translate();
+
+        /** Scale of numbers group from quantized font size to clock size. */
+        private final Scale numbersScale = new Scale();
+
+        /** Quantized font size the numbers are laid out with. */
+        private int numbersFontSize;
+
+        /** Does clock size change require relayout of numbers or not. */
+        private boolean numbersDirty = true;
+
+        /**
+         * Constructor of timer, it creates nodes of clock.
+         * @param group  Group the clock is added to
+         * @param width  Width of clock
+         * @param height  Height of clock
+         * @param screenSize  Minimum of screen dimension
+         */
+        NodePulse(Group group, ReadOnlyDoubleProperty width, ReadOnlyDoubleProperty height, double screenSize) {
+            this.screenSize = screenSize;
+
+            // Create minute circle (for arrow)
+            Circle minuteCircle = new Circle();
+            // Create second circle (for arrow)
+            Circle secondCircle = new Circle();
+
+            // Add all elements to group
+            group.getChildren().add(clockFace);
+            group.getChildren().add(hourArrow);
+            group.getChildren().add(minuteArrow);
+            group.getChildren().add(minuteCircle);
+            group.getChildren().add(secondCircle);
+            group.getChildren().add(secondArrow);
+
+            // Minimum binding clock dimension
+            NumberBinding sceneSize = Bindings.min(height, width);
+
+            // Calculate resizeable font size
+            fontSize = Bindings.max(sceneSize.divide(screenSize).multiply(65), 1.0);
+
+            // Create group of numbers, positioned and scaled as a whole
+            Group numbers = new Group();
+            numbers.getTransforms().addAll(numbersTranslate, numbersScale);
+            group.getChildren().add(numbers);
+
+            // Create and configure texts
+            for (int i = 0; i < 12; i++) {
+                texts[i] = new Text(Integer.toString(i + 1));
+                texts[i].setFill(Color.WHITE);
+                numbers.getChildren().add(texts[i]);
             }
 
-            /** Calculate end x property. */
-            private NumberBinding getXProperty(double value, double pace, double size) {
-                return getCoordinate(value, pace, size, true);
+            // Relayout numbers once on next pulse, however often clock is resized
+            sceneSize.addListener(new InvalidationListener() {
+                @Override
+                public void invalidated(Observable o) {
+                    numbersDirty = true;
+                }
+            });
+
+            // Configure clock face
+            clockFace.radiusProperty().bind(sceneSize.divide(2).multiply(0.9));
+            clockFace.centerXProperty().bind(width.divide(2));
+            clockFace.centerYProperty().bind(height.divide(2));
+            clockFace.setFill(Color.BLACK);
+
+            // Configure minute circle
+            minuteCircle.radiusProperty().bind(clockFace.radiusProperty().multiply(0.05));
+            minuteCircle.centerXProperty().bind(clockFace.centerXProperty());
+            minuteCircle.centerYProperty().bind(clockFace.centerYProperty());
+            minuteCircle.setFill(Color.WHITE);
+
+            // Configure second circle
+            secondCircle.radiusProperty().bind(clockFace.radiusProperty().multiply(0.015));
+            secondCircle.centerXProperty().bind(clockFace.centerXProperty());
+            secondCircle.centerYProperty().bind(clockFace.centerYProperty());
+            secondCircle.setFill(Color.RED);
+
+            // Configure second arrow
+            secondArrow.setStroke(Color.RED);
+            secondArrow.strokeWidthProperty().bind(Bindings.max(sceneSize.divide(screenSize).multiply(3), 1.0));
+            secondArrow.startXProperty().bind(clockFace.centerXProperty());
+            secondArrow.startYProperty().bind(clockFace.centerYProperty());
+            secondArrow.setSmooth(true);
+
+            // Configure minute arrow
+            minuteArrow.setStroke(Color.WHITE);
+            minuteArrow.strokeWidthProperty().bind(Bindings.max(sceneSize.divide(screenSize).multiply(8), 1.0));
+            minuteArrow.startXProperty().bind(clockFace.centerXProperty());
+            minuteArrow.startYProperty().bind(clockFace.centerYProperty());
+            minuteArrow.setSmooth(true);
+
+            // Configure hour arrow
+            hourArrow.setStroke(Color.WHITE);
+            hourArrow.strokeWidthProperty().bind(Bindings.max(sceneSize.divide(screenSize).multiply(8), 1.0));
+            hourArrow.startXProperty().bind(clockFace.centerXProperty());
+            hourArrow.startYProperty().bind(clockFace.centerYProperty());
+
+            // Arrows and numbers are shown when font and time zone data are loaded
+            details = new Node[] {hourArrow, minuteArrow, minuteCircle, secondCircle, secondArrow, numbers};
+            for (Node node : details) {
+                node.setVisible(false);
             }
+        }
 
-            /** Calculate end y property. */
-            private NumberBinding getYProperty(double value, double pace, double size) {
-                return getCoordinate(value, pace, size, false);
+        @Override
+        protected void show() {
+            for (Node node : details) {
+                node.setVisible(true);
             }
+        }
+
+        @Override
+        protected void update(double hour, double minute, double second) {
+            // Relayout numbers, if clock size has changed
+            if (numbersDirty) {
+                layoutNumbers();
+            }
+
+            // Calculate end of second arrow
+            setEnd(secondArrow, second, 6.0, 0.7);
+
+            // Calculate end of minute arrow
+            setEnd(minuteArrow, minute, 6.0, 0.7);
+
+            // Calculate end of hour arrow
+            setEnd(hourArrow, hour, 30.0, 0.5);
+        }
+
+        /** Set end of arrow by plain values, without creating bindings. */
+        private void setEnd(Line arrow, double value, double pace, double size) {
+            double arg = getArgument(value, pace);
+            double length = clockFace.getRadius() * size;
+
+            arrow.setEndX(clockFace.getCenterX() + trigonometry.cos(arg) * length);
+            arrow.setEndY(clockFace.getCenterY() + trigonometry.sin(arg) * length);
+        }
 
-            /** Calculate coordinate property. */
-            private NumberBinding getCoordinate(double value, double pace, double size, boolean c) {
-                double arg;
-                if (! c) {
-                    arg = Math.sin(getArgument(value, pace));
-                } else {
-                    arg = Math.cos(getArgument(value, pace));
+        /**
+         * Lay out numbers. Texts are positioned around zero with font of quantized size only
+         * when that size changes, otherwise just group transforms are updated.
+         */
+        private void layoutNumbers() {
+            // Reading font size validates clock size binding again
+            int size = (int)Math.max(Math.round(fontSize.doubleValue()), 1);
+            // Face radius the quantized font size is calculated for
+            double radius = size / 65.0 * screenSize * 0.45;
+
+            if (size != numbersFontSize) {
+                // Reuse shared font of quantized size
+                Font font = FontService.getFont(size);
+
+                for (int i = 0; i < 12; i++) {
+                    texts[i].setFont(font);
+                    texts[i].setX(radius * Trigonometry.numberCos(i + 1) * 0.83
+                            - texts[i].getBoundsInLocal().getWidth() / 2.0);
+                    texts[i].setY(radius * Trigonometry.numberSin(i + 1) * 0.83
+                            + texts[i].getBoundsInLocal().getHeight() / 3.0);
                 }
 
-                return clockFace.radiusProperty().multiply(arg).multiply(size);
+                numbersFontSize = size;
             }
-        };
 
-        // Start timer
-        timer.start();
+            // Fit numbers group to clock face
+            numbersTranslate.setX(clockFace.getCenterX());
+            numbersTranslate.setY(clockFace.getCenterY());
+            numbersScale.setX(clockFace.getRadius() / radius);
+            numbersScale.setY(clockFace.getRadius() / radius);
+
+            numbersDirty = false;
+        }
     }
 
-    /** Resize font method. */
-    private void resizeFont(Circle clockFace, Text text, NumberBinding fontSize, int i) {
-        text.setFont(new Font("Helvetica Neue Light", fontSize.doubleValue()));
-        double angle = getArgument(i + 1, 30.0);
-        text.xProperty().bind(clockFace.centerXProperty().add(
-                        clockFace.radiusProperty().multiply(Math.cos(angle)).multiply(0.83)
-                ).subtract(text.getBoundsInLocal().getWidth() / 2.0)
-        );
-        text.yProperty().bind(clockFace.centerYProperty().add(
-                        clockFace.radiusProperty().multiply(Math.sin(angle)).multiply(0.83)
-                ).add(text.getBoundsInLocal().getHeight() / 3.0)
-        );
+    /**
+     * Close tick feed when application stops.
+     */
+    @Override
+    public void stop() {
+        for (Closeable feed : tickFeeds) {
+            try {
+                feed.close();
+            } catch (IOException e) {
+                // Channel is closed with process anyway
+            }
+        }
+        tickFeeds.clear();
     }
 
     /**
-     * Evaluation of trigonometric argument.
-     * @param x  Time indicator
-     * @param pace  Pace of time indicator
-     * @return  Trigonometric argument
+     * Get port of tick feed from launch parameter.
+     * @param arg  Parameter, optionally with port after "="
+     * @return  Port
      */
-    private double getArgument(double x, double pace) {
-        return x * pace * Math.PI / 180.0 - Math.PI / 2;
+    private static int getPort(String arg) {
+        int index = arg.indexOf('=');
+        return index < 0 ? TickPublisher.DEFAULT_PORT : Integer.parseInt(arg.substring(index + 1));
     }
 
     /** Main method. */
@@ -0,0 +1,280 @@
+package ClockFx;
+
+import ClockCommon.Trigonometry;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+import javafx.scene.transform.Transform;
+import javafx.stage.Window;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Clock drawn on single canvas. Face with numbers is drawn once per size and kept
+ * as image, every pulse draws that image and arrows over it.
+ */
+public class ClockCanvas extends Canvas {
+
+    /** Angle engine of clock face. */
+    private final Trigonometry trigonometry = new Trigonometry(Trigonometry.DEFAULT_RESOLUTION);
+
+    /** Minimum of screen dimension, sizes of arrows and font are relative to it. */
+    private final double screenSize;
+
+    /** Text measuring numbers, it isn't shown. */
+    private final Text measure = new Text();
+
+    /** Snapshot of face with numbers, null until font is loaded. */
+    private WritableImage face;
+
+    /** Is face snapshot of current size and output scale or not. */
+    private boolean faceValid;
+
+    /** Listener taking face snapshot again on next pulse. */
+    private final InvalidationListener invalidateFace = new InvalidationListener() {
+        @Override
+        public void invalidated(Observable o) {
+            faceValid = false;
+        }
+    };
+
+    /** Window the output scale is followed for, null while canvas isn't shown. */
+    private Window scaledWindow;
+
+    /** Horizontal output scale of window, null without window and on JavaFX 8, which has no output scale. */
+    private ReadOnlyDoubleProperty outputScaleX;
+
+    /** Vertical output scale of window, null without window and on JavaFX 8. */
+    private ReadOnlyDoubleProperty outputScaleY;
+
+    /**
+     * Constructor of canvas.
+     * @param screenSize  Minimum of screen dimension, sizes of arrows and font are relative to it
+     */
+    public ClockCanvas(double screenSize) {
+        if (screenSize <= 0) {
+            throw new IllegalArgumentException("Screen size must be positive");
+        }
+
+        this.screenSize = screenSize;
+
+        // Face is drawn again on next pulse after resize
+        widthProperty().addListener(invalidateFace);
+        heightProperty().addListener(invalidateFace);
+    }
+
+    /**
+     * Draw face without numbers and arrows, while font is loading.
+     */
+    public void drawPlaceholder() {
+        GraphicsContext g = getGraphicsContext2D();
+        g.clearRect(0, 0, getWidth(), getHeight());
+        drawFace(g, false);
+    }
+
+    /**
+     * Draw clock at time.
+     * @param hour  Hours with fraction
+     * @param minute  Minutes with fraction
+     * @param second  Seconds with fraction
+     */
+    public void draw(double hour, double minute, double second) {
+        if (getWidth() < 1 || getHeight() < 1) {
+            return;
+        }
+
+        GraphicsContext g = getGraphicsContext2D();
+
+        // Draw face once per size and output scale, window moves between screens of different scale
+        Window window = getScene() == null ? null : getScene().getWindow();
+        if (window != scaledWindow) {
+            followOutputScale(window);
+        }
+        if (face == null || ! faceValid) {
+            renderFace(g, outputScaleX == null ? 1.0 : outputScaleX.get(),
+                    outputScaleY == null ? 1.0 : outputScaleY.get());
+        }
+
+        // Snapshot has pixels of screen, it is drawn into canvas size
+        g.clearRect(0, 0, getWidth(), getHeight());
+        g.drawImage(face, 0, 0, getWidth(), getHeight());
+
+        double radius = getRadius();
+
+        // Draw hour and minute arrows
+        g.setStroke(Color.WHITE);
+        g.setLineWidth(resize(8));
+        drawArrow(g, hour, 30.0, radius * 0.5);
+        drawArrow(g, minute, 6.0, radius * 0.7);
+
+        // Draw minute and second circles
+        g.setFill(Color.WHITE);
+        fillCircle(g, radius * 0.05);
+        g.setFill(Color.RED);
+        fillCircle(g, radius * 0.015);
+
+        // Draw second arrow
+        g.setStroke(Color.RED);
+        g.setLineWidth(resize(3));
+        drawArrow(g, second, 6.0, radius * 0.7);
+    }
+
+    /**
+     * Draw face with numbers and take its snapshot in pixels of screen,
+     * so numbers stay sharp on HiDPI screen.
+     * @param g  Graphics context of canvas
+     * @param scaleX  Horizontal output scale of screen
+     * @param scaleY  Vertical output scale of screen
+     */
+    private void renderFace(GraphicsContext g, double scaleX, double scaleY) {
+        g.clearRect(0, 0, getWidth(), getHeight());
+        drawFace(g, true);
+
+        int width = (int)Math.ceil(getWidth() * scaleX);
+        int height = (int)Math.ceil(getHeight() * scaleY);
+
+        // Image is reused, if size hasn't changed
+        if (face != null && (face.getWidth() != width || face.getHeight() != height)) {
+            face = null;
+        }
+
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        parameters.setTransform(Transform.scale(scaleX, scaleY));
+        face = snapshot(parameters, face);
+        faceValid = true;
+    }
+
+    /**
+     * Follow output scale of window, face snapshot is taken again when it changes.
+     * @param window  Window of canvas, null if canvas isn't shown
+     */
+    private void followOutputScale(Window window) {
+        if (outputScaleX != null) {
+            outputScaleX.removeListener(invalidateFace);
+            outputScaleY.removeListener(invalidateFace);
+        }
+
+        scaledWindow = window;
+        outputScaleX = getOutputScale(window, "outputScaleXProperty");
+        outputScaleY = getOutputScale(window, "outputScaleYProperty");
+        if (outputScaleX == null || outputScaleY == null) {
+            outputScaleX = null;
+            outputScaleY = null;
+        } else {
+            outputScaleX.addListener(invalidateFace);
+            outputScaleY.addListener(invalidateFace);
+        }
+        faceValid = false;
+    }
+
+    /**
+     * Get output scale property of window. Output scale is API of JavaFX 9 and later,
+     * so it is looked up by reflection and snapshot is taken at scale 1 on JavaFX 8.
+     * @param window  Window, may be null
+     * @param name  Name of property getter
+     * @return  Property, null without window or on JavaFX 8
+     */
+    private static ReadOnlyDoubleProperty getOutputScale(Window window, String name) {
+        if (window == null) {
+            return null;
+        }
+
+        try {
+            return (ReadOnlyDoubleProperty)Window.class.getMethod(name).invoke(window);
+        } catch (NoSuchMethodException e) {
+            return null;
+        } catch (IllegalAccessException e) {
+            return null;
+        } catch (InvocationTargetException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Draw face circle and numbers.
+     * @param g  Graphics context of canvas
+     * @param numbers  Draw numbers or not
+     */
+    private void drawFace(GraphicsContext g, boolean numbers) {
+        double radius = getRadius();
+        double centerX = getWidth() / 2;
+        double centerY = getHeight() / 2;
+
+        // Draw clock face
+        g.setFill(Color.BLACK);
+        fillCircle(g, radius);
+
+        if (! numbers) {
+            return;
+        }
+
+        // Reuse shared font of quantized size
+        int size = (int)Math.max(Math.round(resize(65)), 1);
+        Font font = FontService.getFont(size);
+        measure.setFont(font);
+        g.setFont(font);
+        g.setFill(Color.WHITE);
+
+        // Draw numbers from 1 to 12
+        for (int i = 1; i <= 12; i++) {
+            String number = Integer.toString(i);
+            measure.setText(number);
+
+            g.fillText(number,
+                    centerX + radius * Trigonometry.numberCos(i) * 0.83
+                            - measure.getLayoutBounds().getWidth() / 2.0,
+                    centerY + radius * Trigonometry.numberSin(i) * 0.83
+                            + measure.getLayoutBounds().getHeight() / 3.0);
+        }
+    }
+
+    /**
+     * Draw arrow from face center.
+     * @param g  Graphics context of canvas
+     * @param value  Time indicator
+     * @param pace  Pace of time indicator
+     * @param length  Length of arrow
+     */
+    private void drawArrow(GraphicsContext g, double value, double pace, double length) {
+        double arg = Trigonometry.getArgument(value, pace);
+        double centerX = getWidth() / 2;
+        double centerY = getHeight() / 2;
+
+        g.strokeLine(centerX, centerY,
+                centerX + trigonometry.cos(arg) * length, centerY + trigonometry.sin(arg) * length);
+    }
+
+    /**
+     * Fill circle at face center.
+     * @param g  Graphics context of canvas
+     * @param radius  Radius of circle
+     */
+    private void fillCircle(GraphicsContext g, double radius) {
+        g.fillOval(getWidth() / 2 - radius, getHeight() / 2 - radius, 2 * radius, 2 * radius);
+    }
+
+    /**
+     * Get radius of clock face.
+     * @return  Radius, 90% of half of canvas size
+     */
+    private double getRadius() {
+        return Math.min(getWidth(), getHeight()) / 2 * 0.9;
+    }
+
+    /**
+     * Resize value for canvas size.
+     * @param maxValue  Value at full screen canvas
+     * @return  Value, not less than 1
+     */
+    private double resize(double maxValue) {
+        return Math.max(Math.min(getWidth(), getHeight()) / screenSize * maxValue, 1.0);
+    }
+}
@@ -0,0 +1,97 @@
+package ClockFx;
+
+import javafx.scene.text.Font;
+
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Font of clock numbers shared by whole process. Font file is loaded once per JVM,
+ * fonts of sizes are cached.
+ */
+public class FontService {
+
+    /** Resource of font, relative to this class. */
+    private static final String RESOURCE = "HelveticaNeue-Light.otf";
+
+    /** Name of font used if resource can't be loaded. */
+    private static final String FALLBACK_NAME = "Helvetica Neue Light";
+
+    /** Maximum count of cached fonts. */
+    private static final int CACHE_SIZE = 64;
+
+    /** Fonts by size, least recently used are evicted. */
+    private static final Map<Double, Font> fonts = new LinkedHashMap<Double, Font>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Double, Font> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    /** Task loading font, it is run by preloading of startup. */
+    public static final Runnable LOADER = new Runnable() {
+        public void run() {
+            getFontName();
+        }
+    };
+
+    /**
+     * Font service has static methods only.
+     */
+    private FontService() {
+    }
+
+    /**
+     * Get name of clock font, font is loaded on first call.
+     * @return  Name of font
+     */
+    public static String getFontName() {
+        return Holder.NAME;
+    }
+
+    /**
+     * Get clock font of size.
+     * @param size  Size of font
+     * @return  Font
+     */
+    public static Font getFont(double size) {
+        synchronized (fonts) {
+            Font font = fonts.get(size);
+
+            // Create font once per size
+            if (font == null) {
+                font = new Font(Holder.NAME, size);
+                fonts.put(size, font);
+            }
+
+            return font;
+        }
+    }
+
+    /**
+     * Load font from resource.
+     * @return  Name of loaded font or name of system font if resource can't be loaded
+     */
+    private static String load() {
+        URL url = FontService.class.getResource(RESOURCE);
+
+        if (url != null) {
+            Font font = Font.loadFont(url.toExternalForm(), 65);
+            if (font != null) {
+                return font.getName();
+            }
+        }
+
+        return FALLBACK_NAME;
+    }
+
+    /**
+     * Holder of font name, font is loaded once by thread safe class initialization.
+     */
+    private static class Holder {
+
+        /** Name of font. */
+        static final String NAME = load();
+    }
+}
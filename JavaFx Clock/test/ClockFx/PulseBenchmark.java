@@ -0,0 +1,262 @@
+package ClockFx;
+
+import ClockCommon.ClockMetrics;
+import ClockCommon.ClockStartup;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.scene.text.Text;
+import javafx.stage.Screen;
+import javafx.stage.Stage;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Pulse time and memory of node and canvas backends at 1, 10 and 100 clocks per stage.
+ * Clocks are laid out in grid of one stage and updated by single pulse timer, so metrics
+ * of that timer give time and allocation of one pulse of whole stage, and dropped frames
+ * show pulses late by rendering too. Heap used by clocks is measured after garbage collection.
+ * Results are printed and appended to file given by first argument.
+ * It is run on Monocle headless in test phase, so it needs no display. It is skipped,
+ * if JavaFX can't lay out text on the host, as it needs Pango library on Linux.
+ */
+public class PulseBenchmark {
+
+    /** Counts of clocks per stage. */
+    private static final int[] COUNTS = {1, 10, 100};
+
+    /** Size of square stage in pixels. */
+    private static final int STAGE_SIZE = 800;
+
+    /** Time of pulses before measurement, so code is compiled and faces are cached. */
+    private static final long WARMUP_MILLIS = 2000;
+
+    /** Time of measured pulses. */
+    private static final long MEASURE_MILLIS = 3000;
+
+    /**
+     * Run benchmark.
+     * @param args  File results are appended to, optional
+     * @throws Exception  If benchmark is interrupted or results can't be written
+     */
+    public static void main(String[] args) throws Exception {
+        // Toolkit is started by application, Platform.startup is API of JavaFX 9 and later
+        Thread launcher = new Thread(new Runnable() {
+            public void run() {
+                Application.launch(Toolkit.class);
+            }
+        }, "Toolkit launcher");
+        launcher.setDaemon(true);
+        launcher.start();
+        Toolkit.STARTED.await();
+
+        // Text is laid out by native library, which headless hosts may lack
+        final LinkageError[] failure = new LinkageError[1];
+        runAndWait(new Runnable() {
+            public void run() {
+                try {
+                    new Text("12").getLayoutBounds();
+                } catch (LinkageError e) {
+                    failure[0] = e;
+                }
+            }
+        });
+        if (failure[0] != null) {
+            System.out.println("Text can't be laid out by JavaFX on this host, benchmark skipped: " + failure[0]);
+            Platform.exit();
+            return;
+        }
+
+        // Font and time zone data are loaded before clocks are shown
+        ClockStartup.preload(FontService.LOADER);
+        while (! ClockStartup.isReady()) {
+            Thread.sleep(10);
+        }
+
+        PrintWriter results = args.length > 0 ? new PrintWriter(new FileWriter(args[0], true)) : null;
+        try {
+            report(results, "JavaFX " + System.getProperty("javafx.runtime.version") + ", Java "
+                    + System.getProperty("java.version") + ", " + STAGE_SIZE + " px stage");
+            report(results, "backend  clocks    fps  pulse p50 ms  pulse p99 ms  dropped  bytes/pulse  heap KB");
+            for (boolean canvas : new boolean[] {false, true}) {
+                for (int count : COUNTS) {
+                    report(results, run(canvas, count));
+                }
+            }
+        } finally {
+            if (results != null) {
+                results.close();
+            }
+        }
+
+        Platform.exit();
+    }
+
+    /**
+     * Print line of results and append it to file.
+     * @param results  File of results, null if none
+     * @param line  Line
+     * @throws IOException  If line can't be written
+     */
+    private static void report(PrintWriter results, String line) throws IOException {
+        System.out.println(line);
+        if (results != null) {
+            results.println(line);
+            if (results.checkError()) {
+                throw new IOException("Results can't be written");
+            }
+        }
+    }
+
+    /**
+     * Show stage with clocks, let pulses run and get their metrics.
+     * @param canvas  Draw clocks on canvas or by nodes
+     * @param count  Count of clocks
+     * @return  Line of results
+     * @throws InterruptedException  If benchmark is interrupted
+     */
+    private static String run(final boolean canvas, final int count) throws InterruptedException {
+        long heap = getUsedHeap();
+
+        // Clock owning pulse timer and its metrics
+        final Clock owner = new Clock();
+        final Clock.Pulse[] pulse = new Clock.Pulse[1];
+        final Stage[] stage = new Stage[1];
+
+        runAndWait(new Runnable() {
+            public void run() {
+                Rectangle2D screen = Screen.getPrimary().getVisualBounds();
+                double screenSize = Math.min(screen.getWidth(), screen.getHeight());
+
+                // Square tiles of grid
+                int columns = (int)Math.ceil(Math.sqrt(count));
+                double tile = (double)STAGE_SIZE / columns;
+                SimpleDoubleProperty size = new SimpleDoubleProperty(tile);
+                Group group = new Group();
+                final Clock.Pulse[] clocks = new Clock.Pulse[count];
+                for (int i = 0; i < count; i++) {
+                    Group cell = new Group();
+                    cell.setLayoutX(i % columns * tile);
+                    cell.setLayoutY(i / columns * tile);
+                    clocks[i] = canvas ? owner.createCanvas(cell, size, size, screenSize)
+                            : owner.createNodes(cell, size, size, screenSize);
+                    group.getChildren().add(cell);
+                }
+
+                stage[0] = new Stage();
+                stage[0].setScene(new Scene(group, STAGE_SIZE, STAGE_SIZE));
+                stage[0].show();
+
+                pulse[0] = owner.new Pulse() {
+                    @Override
+                    protected void placeholder() {
+                        for (Clock.Pulse clock : clocks) {
+                            clock.placeholder();
+                        }
+                    }
+
+                    @Override
+                    protected void show() {
+                        for (Clock.Pulse clock : clocks) {
+                            clock.show();
+                        }
+                    }
+
+                    @Override
+                    protected void update(double hour, double minute, double second) {
+                        for (Clock.Pulse clock : clocks) {
+                            clock.update(hour, minute, second);
+                        }
+                    }
+                };
+                pulse[0].start();
+            }
+        });
+
+        Thread.sleep(WARMUP_MILLIS);
+        runAndWait(new Runnable() {
+            public void run() {
+                owner.getMetrics().reset();
+            }
+        });
+        Thread.sleep(MEASURE_MILLIS);
+
+        // Metrics are read on application thread, which records them
+        final String[] result = new String[1];
+        runAndWait(new Runnable() {
+            public void run() {
+                pulse[0].stop();
+                ClockMetrics metrics = owner.getMetrics();
+                result[0] = String.format("%-7s  %6d  %5.1f  %12.3f  %12.3f  %7d  %11.0f",
+                        canvas ? "canvas" : "nodes", count, metrics.getFramesPerSecond(),
+                        metrics.getPaint50thPercentileMillis(), metrics.getPaint99thPercentileMillis(),
+                        metrics.getDroppedTicks(), metrics.getAllocatedBytesPerFrame());
+            }
+        });
+        heap = getUsedHeap() - heap;
+
+        runAndWait(new Runnable() {
+            public void run() {
+                stage[0].close();
+            }
+        });
+
+        return result[0] + String.format("  %7d", heap / 1024);
+    }
+
+    /**
+     * Run action on application thread and wait for it.
+     * @param action  Action
+     * @throws InterruptedException  If waiting is interrupted
+     */
+    private static void runAndWait(final Runnable action) throws InterruptedException {
+        final CountDownLatch done = new CountDownLatch(1);
+        Platform.runLater(new Runnable() {
+            public void run() {
+                try {
+                    action.run();
+                } finally {
+                    done.countDown();
+                }
+            }
+        });
+        done.await();
+    }
+
+    /**
+     * Get heap used after garbage collection.
+     * @return  Used heap in bytes
+     */
+    private static long getUsedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Application starting JavaFX toolkit, stages of benchmark are shown by its thread.
+     */
+    public static class Toolkit extends Application {
+
+        /** Is toolkit started or not. */
+        static final CountDownLatch STARTED = new CountDownLatch(1);
+
+        /**
+         * Keep toolkit running after stages of benchmark are closed.
+         * @param stage  Primary stage, it isn't shown
+         */
+        @Override
+        public void start(Stage stage) {
+            Platform.setImplicitExit(false);
+            STARTED.countDown();
+        }
+    }
+}